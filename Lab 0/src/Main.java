@@ -1,13 +1,18 @@
 import models.*;
+import pricing.*;
 import repository.*;
 import service.*;
 
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+
 public class Main {
     public static void main(String[] args) {
         System.out.println("=== VEHICLE RENTAL SYSTEM ===\n");
 
         // DIP: Using interface instead of concrete class
-        IVehicleRepository repository = new VehicleRepository();
+        IVehicleRepository repository = new ConcurrentVehicleRepository();
 
         // OCP: Adding different vehicle types without modifying existing code
         repository.addVehicle(new Car("C001", "Toyota Camry"));
@@ -15,6 +20,12 @@ public class Main {
         repository.addVehicle(new Motorcycle("M001", "Harley Davidson"));
         repository.addVehicle(new Motorcycle("M002", "Honda CBR"));
 
+        // DIP: Pricing reads utilization through the repository interface and is refreshed
+        // in the background so demand-based rates follow the fleet
+        PricingEngine pricing = PricingEngine.getInstance();
+        pricing.setUtilizationSource(repository::getUtilization);
+        pricing.startBackgroundRefresh(60_000);
+
         // SRP: Service handles only rental operations
         RentalService rentalService = new RentalService(repository);
 
@@ -39,5 +50,12 @@ public class Main {
 
         // Show final state
         rentalService.showAllVehicles();
+
+        // Book vehicles for the coming weekend
+        LocalDate friday = LocalDate.now().with(TemporalAdjusters.next(DayOfWeek.FRIDAY));
+        LocalDate monday = friday.plusDays(3);
+        rentalService.bookVehicle("C002", friday, monday);
+        rentalService.bookVehicle("C002", friday.plusDays(1), monday.plusDays(1));
+        rentalService.showVehiclesFreeBetween(friday, monday);
     }
 }
@@ -0,0 +1,321 @@
+package events;
+
+import models.AvailabilityListener;
+import models.Vehicle;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Stream;
+
+// Durable history of every rent and return. Attach it to a repository as an availability
+// listener: the rent path only queues the event, and a background writer appends it to
+// the current segment file in a compact binary form, starting a new segment once the
+// current one reaches its size limit. Replay the old segments (RentalEventReplay) before
+// attaching, otherwise the replayed changes would be logged again.
+//
+// The writer forces the segment to disk at most FORCE_INTERVAL_MILLIS after writing an event,
+// so a crash loses at most about that much history; sync() forces right away.
+//
+// Events are handed over through lock-free queues striped by vehicle id: queueing never
+// blocks the rent path, unrelated vehicles rarely touch the same queue, and the events of
+// one vehicle stay in order because they always go through the same queue.
+//
+// Segment: "RNTL" magic, then records of [type 1][timestamp millis 8][id length 1][id]
+public class RentalEventLog implements AvailabilityListener, AutoCloseable {
+    static final int MAGIC = 0x524E544C;
+    static final byte RENT = 1;
+    static final byte RETURN = 2;
+    static final String SEGMENT_PREFIX = "rentals-";
+    static final String SEGMENT_SUFFIX = ".log";
+
+    private static final int STRIPES = 64;
+    private static final int BUFFER_SIZE = 256 * 1024;
+    private static final long FORCE_INTERVAL_MILLIS = 1000;
+
+    private final Path directory;
+    private final long segmentSize;
+    private final List<Queue<Event>> queues = new ArrayList<>(STRIPES);
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private final Thread writer;
+    private final LongAdder queued = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private volatile boolean writerIdle;
+    private final Object progress = new Object();
+    private final Object segmentLock = new Object();
+
+    private FileChannel segment;
+    private int segmentIndex;
+    private long written;
+    private volatile boolean closed;
+    private volatile boolean writerStopped;
+    private volatile IOException failure;
+    private boolean unforced;
+    private long lastForceNanos = System.nanoTime();
+
+    private static final class Event {
+        final byte type;
+        final long timestamp;
+        final byte[] vehicleId;
+
+        Event(byte type, long timestamp, byte[] vehicleId) {
+            this.type = type;
+            this.timestamp = timestamp;
+            this.vehicleId = vehicleId;
+        }
+    }
+
+    public RentalEventLog(Path directory, long segmentSize) throws IOException {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        for (int i = 0; i < STRIPES; i++) {
+            queues.add(new ConcurrentLinkedQueue<>());
+        }
+        Files.createDirectories(directory);
+        this.segmentIndex = lastSegmentIndex(directory);
+        openNextSegment();
+        this.writer = new Thread(this::writeLoop, "rental-event-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    public RentalEventLog(Path directory) throws IOException {
+        this(directory, 64L * 1024 * 1024);
+    }
+
+    // Called under the vehicle's lock, so events of one vehicle are queued in order.
+    // Never throws: events that cannot be logged are counted instead (getRejectedCount)
+    @Override
+    public void availabilityChanged(Vehicle vehicle, boolean available) {
+        byte[] id = vehicle.getId().getBytes(StandardCharsets.UTF_8);
+        if (id.length > 255 || closed || writerStopped) {
+            rejected.increment();
+            return;
+        }
+        Event event = new Event(available ? RETURN : RENT, System.currentTimeMillis(), id);
+        int hash = vehicle.getId().hashCode();
+        queues.get((hash ^ (hash >>> 16)) & (STRIPES - 1)).offer(event);
+        queued.increment();
+        if (writerIdle) {
+            LockSupport.unpark(writer);
+        }
+    }
+
+    // Events that were not logged: the vehicle id is longer than 255 bytes, or the event arrived
+    // after (or raced with) close() or a write failure that stopped the writer
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    // Waits until everything queued so far is written and forced to disk
+    public void sync() throws IOException {
+        long target = queued.sum();
+        LockSupport.unpark(writer);
+        synchronized (progress) {
+            // An event that raced with close() may never be written; stop once the writer is gone
+            while (written < target && failure == null && writer.isAlive()) {
+                try {
+                    progress.wait(100);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+        synchronized (segmentLock) {
+            if (segment.isOpen()) { // close() has already forced the last segment
+                segment.force(false);
+            }
+        }
+    }
+
+    private void writeLoop() {
+        try {
+            writeEvents();
+        } catch (IOException e) {
+            failure = e;
+        } finally {
+            writerStopped = true;
+            for (Queue<Event> stripe : queues) {
+                for (Event event = stripe.poll(); event != null; event = stripe.poll()) {
+                    rejected.increment(); // nothing will write it any more
+                }
+            }
+            synchronized (progress) {
+                progress.notifyAll();
+            }
+        }
+    }
+
+    private void writeEvents() throws IOException {
+        List<Event> batch = new ArrayList<>();
+        while (true) {
+            boolean stopping = closed;
+            for (Queue<Event> stripe : queues) {
+                for (Event event = stripe.poll(); event != null; event = stripe.poll()) {
+                    batch.add(event);
+                }
+            }
+            if (batch.isEmpty()) {
+                if (stopping) {
+                    break; // closed before this pass, so nothing more can be queued
+                }
+                // Parking with a timeout instead of interrupting on close: an interrupt would close
+                // the channel. Producers unpark the writer once it has announced it is idle
+                writerIdle = true;
+                if (isEmpty()) {
+                    LockSupport.parkNanos(this, TimeUnit.MILLISECONDS.toNanos(100));
+                }
+                writerIdle = false;
+                forceIfDue();
+                continue;
+            }
+            try {
+                for (Event event : batch) {
+                    append(event);
+                }
+                writeBuffer();
+                unforced = true;
+                forceIfDue();
+            } catch (IOException e) {
+                rejected.add(batch.size()); // this batch did not make it either
+                throw e;
+            }
+            synchronized (progress) {
+                written += batch.size();
+                progress.notifyAll();
+            }
+            batch.clear();
+        }
+    }
+
+    private void forceIfDue() throws IOException {
+        if (unforced && System.nanoTime() - lastForceNanos >= TimeUnit.MILLISECONDS.toNanos(FORCE_INTERVAL_MILLIS)) {
+            synchronized (segmentLock) {
+                segment.force(false);
+            }
+            unforced = false;
+            lastForceNanos = System.nanoTime();
+        }
+    }
+
+    private boolean isEmpty() {
+        for (Queue<Event> stripe : queues) {
+            if (!stripe.isEmpty()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void append(Event event) throws IOException {
+        int length = 1 + 8 + 1 + event.vehicleId.length;
+        if (buffer.remaining() < length) {
+            writeBuffer();
+        }
+        if (segment.position() + buffer.position() + length > segmentSize) {
+            writeBuffer();
+            openNextSegment();
+        }
+        buffer.put(event.type);
+        buffer.putLong(event.timestamp);
+        buffer.put((byte) event.vehicleId.length);
+        buffer.put(event.vehicleId);
+    }
+
+    private void writeBuffer() throws IOException {
+        buffer.flip();
+        try {
+            while (buffer.hasRemaining()) {
+                segment.write(buffer);
+            }
+        } finally {
+            buffer.clear();
+        }
+    }
+
+    private void openNextSegment() throws IOException {
+        FileChannel next = FileChannel.open(segmentPath(directory, segmentIndex + 1),
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        ByteBuffer header = ByteBuffer.allocate(4).putInt(0, MAGIC);
+        while (header.hasRemaining()) {
+            next.write(header);
+        }
+        synchronized (segmentLock) {
+            if (segment != null) {
+                segment.force(false);
+                segment.close();
+            }
+            segment = next;
+            segmentIndex++;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        LockSupport.unpark(writer);
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        for (Queue<Event> stripe : queues) {
+            rejected.add(stripe.size()); // queued just as the writer made its last pass
+        }
+        synchronized (segmentLock) {
+            segment.force(false);
+            segment.close();
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    static Path segmentPath(Path directory, int index) {
+        return directory.resolve(String.format("%s%06d%s", SEGMENT_PREFIX, index, SEGMENT_SUFFIX));
+    }
+
+    // Segment files in the directory, oldest first
+    static List<Path> segments(Path directory) {
+        if (!Files.isDirectory(directory)) {
+            return new ArrayList<>();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            List<Path> segments = new ArrayList<>();
+            files.filter(RentalEventLog::isSegment).sorted().forEach(segments::add);
+            return segments;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static boolean isSegment(Path file) {
+        String name = file.getFileName().toString();
+        return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+    }
+
+    private static int lastSegmentIndex(Path directory) {
+        List<Path> segments = segments(directory);
+        if (segments.isEmpty()) {
+            return 0;
+        }
+        String name = segments.get(segments.size() - 1).getFileName().toString();
+        return Integer.parseInt(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+}
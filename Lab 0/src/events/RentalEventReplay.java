@@ -0,0 +1,163 @@
+package events;
+
+import models.Vehicle;
+import repository.IVehicleRepository;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+// Rebuilds fleet state and utilization from the segments written by RentalEventLog.
+// Segments are summarised in parallel, one task per segment, and the summaries are then
+// merged oldest first; only a rental that spans segments needs the merge to pair its
+// rent with its return. A record cut short by a crash ends its segment.
+public class RentalEventReplay {
+    private RentalEventReplay() {
+    }
+
+    // What happened to one vehicle, over a segment while summarising and over the log once merged
+    public static final class VehicleUsage {
+        private final String vehicleId;
+        private int rentals;
+        private long rentedMillis;
+        private long leadingReturn = -1;
+        private long openSince = -1;
+        private boolean rented;
+        private long lastEventTime;
+
+        VehicleUsage(String vehicleId) {
+            this.vehicleId = vehicleId;
+        }
+
+        void apply(byte type, long timestamp) {
+            if (type == RentalEventLog.RENT) {
+                if (openSince < 0) {
+                    openSince = timestamp;
+                }
+                rentals++;
+                rented = true;
+            } else {
+                if (openSince >= 0) {
+                    rentedMillis += timestamp - openSince;
+                    openSince = -1;
+                } else if (leadingReturn < 0 && rentals == 0) {
+                    leadingReturn = timestamp;
+                }
+                rented = false;
+            }
+            lastEventTime = timestamp;
+        }
+
+        // Appends the summary of a later segment
+        void merge(VehicleUsage later) {
+            if (openSince >= 0 && later.leadingReturn >= 0) {
+                rentedMillis += later.leadingReturn - openSince;
+                openSince = -1;
+            }
+            rentals += later.rentals;
+            rentedMillis += later.rentedMillis;
+            openSince = later.openSince;
+            rented = later.rented;
+            lastEventTime = later.lastEventTime;
+        }
+
+        public String getVehicleId() { return vehicleId; }
+        public int getRentals() { return rentals; }
+        public boolean isRented() { return rented; }
+        public long getLastEventTime() { return lastEventTime; }
+
+        // Total time rented out, counting a rental still in progress up to now
+        public long getRentedMillis(long now) {
+            return openSince >= 0 ? rentedMillis + now - openSince : rentedMillis;
+        }
+    }
+
+    // Summarises every segment in the directory and merges the results, keyed by vehicle id
+    public static Map<String, VehicleUsage> read(Path directory) {
+        List<Path> segments = RentalEventLog.segments(directory);
+        List<Map<String, VehicleUsage>> summaries = segments.parallelStream()
+                .map(RentalEventReplay::summarise)
+                .collect(Collectors.toList());
+
+        Map<String, VehicleUsage> usage = new HashMap<>();
+        for (Map<String, VehicleUsage> summary : summaries) {
+            for (VehicleUsage later : summary.values()) {
+                VehicleUsage current = usage.get(later.vehicleId);
+                if (current == null) {
+                    usage.put(later.vehicleId, later);
+                } else {
+                    current.merge(later);
+                }
+            }
+        }
+        return usage;
+    }
+
+    // Puts every logged vehicle back into its last logged state. Returns the usage that was read
+    public static Map<String, VehicleUsage> replay(Path directory, IVehicleRepository repository) {
+        Map<String, VehicleUsage> usage = read(directory);
+        for (VehicleUsage vehicleUsage : usage.values()) {
+            Vehicle vehicle = repository.getVehicleById(vehicleUsage.vehicleId);
+            if (vehicle != null) {
+                vehicle.setAvailable(!vehicleUsage.rented);
+            }
+        }
+        return usage;
+    }
+
+    public static void printUtilizationReport(Map<String, VehicleUsage> usage, long sinceMillis) {
+        long now = System.currentTimeMillis();
+        long period = Math.max(1, now - sinceMillis);
+        List<VehicleUsage> vehicles = new ArrayList<>(usage.values());
+        vehicles.sort(Collections.reverseOrder(
+                (a, b) -> Long.compare(a.getRentedMillis(now), b.getRentedMillis(now))));
+
+        System.out.println("\n=== UTILIZATION REPORT ===");
+        long fleetRented = 0;
+        for (VehicleUsage v : vehicles) {
+            long rented = v.getRentedMillis(now);
+            fleetRented += rented;
+            System.out.printf("%s - %d rentals, %.1f%% utilized%s\n", v.vehicleId, v.rentals,
+                    100.0 * Math.min(rented, period) / period, v.rented ? " [Rented]" : "");
+        }
+        if (!vehicles.isEmpty()) {
+            System.out.printf("Fleet: %.1f%% utilized\n", 100.0 * fleetRented / ((double) period * vehicles.size()));
+        }
+        System.out.println("==========================\n");
+    }
+
+    private static Map<String, VehicleUsage> summarise(Path segment) {
+        Map<String, VehicleUsage> summary = new HashMap<>();
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.remaining() < 4 || buffer.getInt() != RentalEventLog.MAGIC) {
+                return summary;
+            }
+            byte[] id = new byte[255];
+            while (buffer.remaining() >= 10) {
+                byte type = buffer.get();
+                long timestamp = buffer.getLong();
+                int length = buffer.get() & 0xFF;
+                if ((type != RentalEventLog.RENT && type != RentalEventLog.RETURN) || buffer.remaining() < length) {
+                    break;
+                }
+                buffer.get(id, 0, length);
+                String vehicleId = new String(id, 0, length, StandardCharsets.UTF_8);
+                summary.computeIfAbsent(vehicleId, VehicleUsage::new).apply(type, timestamp);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return summary;
+    }
+}
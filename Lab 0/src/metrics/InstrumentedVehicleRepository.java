@@ -0,0 +1,113 @@
+package metrics;
+
+import models.AvailabilityListener;
+import models.Vehicle;
+import models.VehicleType;
+import repository.IVehicleRepository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+// Decorator that times the lookups of any repository; everything else is passed through
+public class InstrumentedVehicleRepository implements IVehicleRepository {
+    private final IVehicleRepository repository;
+    private final RentalMetrics metrics;
+
+    public InstrumentedVehicleRepository(IVehicleRepository repository, RentalMetrics metrics) {
+        this.repository = repository;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public Vehicle getVehicleById(String id) {
+        long start = System.nanoTime();
+        Vehicle vehicle = repository.getVehicleById(id);
+        metrics.lookedUp(System.nanoTime() - start);
+        return vehicle;
+    }
+
+    @Override
+    public List<Vehicle> getAvailableVehicles() {
+        long start = System.nanoTime();
+        List<Vehicle> available = repository.getAvailableVehicles();
+        metrics.lookedUp(System.nanoTime() - start);
+        return available;
+    }
+
+    @Override
+    public Collection<Vehicle> getAvailableVehiclesView() {
+        long start = System.nanoTime();
+        Collection<Vehicle> available = repository.getAvailableVehiclesView();
+        metrics.lookedUp(System.nanoTime() - start);
+        return available;
+    }
+
+    @Override
+    public Collection<Vehicle> getAvailableVehicles(VehicleType type) {
+        long start = System.nanoTime();
+        Collection<Vehicle> available = repository.getAvailableVehicles(type);
+        metrics.lookedUp(System.nanoTime() - start);
+        return available;
+    }
+
+    @Override
+    public Collection<Vehicle> getAvailableVehiclesByBrand(String brand) {
+        long start = System.nanoTime();
+        Collection<Vehicle> available = repository.getAvailableVehiclesByBrand(brand);
+        metrics.lookedUp(System.nanoTime() - start);
+        return available;
+    }
+
+    @Override
+    public Collection<Vehicle> findVehiclesFreeBetween(LocalDate from, LocalDate to) {
+        long start = System.nanoTime();
+        Collection<Vehicle> free = repository.findVehiclesFreeBetween(from, to);
+        metrics.lookedUp(System.nanoTime() - start);
+        return free;
+    }
+
+    @Override
+    public List<Vehicle> findNearestAvailable(double latitude, double longitude, int k) {
+        long start = System.nanoTime();
+        List<Vehicle> nearest = repository.findNearestAvailable(latitude, longitude, k);
+        metrics.lookedUp(System.nanoTime() - start);
+        return nearest;
+    }
+
+    @Override
+    public void addVehicle(Vehicle vehicle) { repository.addVehicle(vehicle); }
+
+    @Override
+    public void addVehicles(Collection<? extends Vehicle> batch) { repository.addVehicles(batch); }
+
+    @Override
+    public List<Vehicle> getAllVehicles() { return repository.getAllVehicles(); }
+
+    @Override
+    public Collection<Vehicle> getAllVehiclesView() { return repository.getAllVehiclesView(); }
+
+    @Override
+    public void addAvailabilityListener(AvailabilityListener listener) { repository.addAvailabilityListener(listener); }
+
+    @Override
+    public void removeAvailabilityListener(AvailabilityListener listener) { repository.removeAvailabilityListener(listener); }
+
+    @Override
+    public boolean bookVehicle(String id, LocalDate from, LocalDate to) { return repository.bookVehicle(id, from, to); }
+
+    @Override
+    public boolean cancelBooking(String id, LocalDate from, LocalDate to) { return repository.cancelBooking(id, from, to); }
+
+    @Override
+    public Vehicle reserveVehicle(String id) { return repository.reserveVehicle(id); }
+
+    @Override
+    public boolean releaseVehicle(String id) { return repository.releaseVehicle(id); }
+
+    @Override
+    public double getUtilization(VehicleType type) { return repository.getUtilization(type); }
+
+    @Override
+    public int countAvailableVehicles() { return repository.countAvailableVehicles(); }
+}
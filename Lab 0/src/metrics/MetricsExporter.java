@@ -0,0 +1,153 @@
+package metrics;
+
+import models.VehicleType;
+import repository.IVehicleRepository;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Periodically writes the current metrics to a local file as text or JSON.
+// The file is replaced atomically, so readers never see a half-written dump.
+public class MetricsExporter implements AutoCloseable {
+    public enum Format { TEXT, JSON }
+
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    private final RentalMetrics metrics;
+    private final IVehicleRepository repository;
+    private final Path file;
+    private final Format format;
+    private ScheduledExecutorService scheduler;
+
+    public MetricsExporter(RentalMetrics metrics, IVehicleRepository repository, Path file, Format format) {
+        this.metrics = metrics;
+        this.repository = repository;
+        this.file = file;
+        this.format = format;
+    }
+
+    public synchronized void start(long periodMillis) {
+        if (scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "metrics-exporter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleAtFixedRate(() -> {
+            try {
+                export();
+            } catch (IOException e) {
+                System.err.println("Could not write metrics: " + e.getMessage());
+            }
+        }, periodMillis, periodMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public void export() throws IOException {
+        String dump = format == Format.JSON ? toJson() : toText();
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        Files.write(temp, dump.getBytes(StandardCharsets.UTF_8));
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    public String toText() {
+        StringBuilder out = new StringBuilder();
+        out.append("=== RENTAL METRICS ===\n");
+        out.append("Rentals: ").append(metrics.getRentals())
+                .append(" (rejected: ").append(metrics.getRentalConflicts()).append(")\n");
+        out.append("Returns: ").append(metrics.getReturns())
+                .append(" (failed: ").append(metrics.getFailedReturns()).append(")\n");
+        out.append("Lookups: ").append(metrics.getLookups()).append('\n');
+        appendText(out, "Rent latency", metrics.getRentLatency());
+        appendText(out, "Return latency", metrics.getReturnLatency());
+        appendText(out, "Lookup latency", metrics.getLookupLatency());
+        out.append("Available vehicles: ").append(repository.countAvailableVehicles()).append('\n');
+        for (VehicleType type : VehicleType.values()) {
+            out.append("Utilization ").append(type).append(": ")
+                    .append(String.format(Locale.ROOT, "%.1f%%", 100 * repository.getUtilization(type))).append('\n');
+        }
+        out.append("======================\n");
+        return out.toString();
+    }
+
+    public String toJson() {
+        StringBuilder out = new StringBuilder();
+        out.append("{\"timestamp\":").append(System.currentTimeMillis());
+        out.append(",\"rentals\":").append(metrics.getRentals());
+        out.append(",\"rentalsRejected\":").append(metrics.getRentalConflicts());
+        out.append(",\"returns\":").append(metrics.getReturns());
+        out.append(",\"returnsFailed\":").append(metrics.getFailedReturns());
+        out.append(",\"lookups\":").append(metrics.getLookups());
+        appendJson(out, "rentLatencyNanos", metrics.getRentLatency());
+        appendJson(out, "returnLatencyNanos", metrics.getReturnLatency());
+        appendJson(out, "lookupLatencyNanos", metrics.getLookupLatency());
+        out.append(",\"availableVehicles\":").append(repository.countAvailableVehicles());
+        out.append(",\"utilization\":{");
+        VehicleType[] types = VehicleType.values();
+        for (int i = 0; i < types.length; i++) {
+            out.append(i == 0 ? "" : ",").append('"').append(types[i]).append("\":")
+                    .append(String.format(Locale.ROOT, "%.4f", repository.getUtilization(types[i])));
+        }
+        out.append("},\"rentalsByVehicle\":{");
+        boolean first = true;
+        for (Map.Entry<String, LongAdder> entry : metrics.getRentalsByVehicle().entrySet()) {
+            out.append(first ? "" : ",").append('"').append(escape(entry.getKey())).append("\":")
+                    .append(entry.getValue().sum());
+            first = false;
+        }
+        out.append("}}\n");
+        return out.toString();
+    }
+
+    private static void appendText(StringBuilder out, String name, LatencyHistogram histogram) {
+        out.append(name).append(" (ns): count=").append(histogram.getCount())
+                .append(String.format(Locale.ROOT, " mean=%.0f", histogram.getMean()));
+        for (double percentile : PERCENTILES) {
+            out.append(" p").append(label(percentile)).append('=').append(histogram.getValueAtPercentile(percentile));
+        }
+        out.append(" max=").append(histogram.getMax()).append('\n');
+    }
+
+    private static void appendJson(StringBuilder out, String name, LatencyHistogram histogram) {
+        out.append(",\"").append(name).append("\":{\"count\":").append(histogram.getCount())
+                .append(String.format(Locale.ROOT, ",\"mean\":%.1f", histogram.getMean()));
+        for (double percentile : PERCENTILES) {
+            out.append(",\"p").append(label(percentile)).append("\":").append(histogram.getValueAtPercentile(percentile));
+        }
+        out.append(",\"max\":").append(histogram.getMax()).append('}');
+    }
+
+    private static String label(double percentile) {
+        return percentile == Math.rint(percentile)
+                ? String.valueOf((long) percentile)
+                : String.valueOf(percentile).replace('.', '_');
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+
+    @Override
+    public synchronized void close() {
+        if (scheduler != null) {
+            scheduler.shutdown();
+            scheduler = null;
+        }
+        try {
+            export();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package metrics;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// Counters and latency histograms for the rental paths. Everything is striped
+// (LongAdder, atomic buckets), so concurrent rentals never contend on the metrics.
+public class RentalMetrics {
+    private final LongAdder rentals = new LongAdder();
+    private final LongAdder rentalConflicts = new LongAdder();
+    private final LongAdder returns = new LongAdder();
+    private final LongAdder failedReturns = new LongAdder();
+    private final LongAdder lookups = new LongAdder();
+    private final Map<String, LongAdder> rentalsByVehicle = new ConcurrentHashMap<>();
+
+    private final LatencyHistogram rentLatency = new LatencyHistogram();
+    private final LatencyHistogram returnLatency = new LatencyHistogram();
+    private final LatencyHistogram lookupLatency = new LatencyHistogram();
+
+    public void rented(String vehicleId, long nanos) {
+        rentals.increment();
+        rentalsByVehicle.computeIfAbsent(vehicleId, id -> new LongAdder()).increment();
+        rentLatency.record(nanos);
+    }
+
+    // The vehicle was unknown or another request got it first
+    public void rentRejected(long nanos) {
+        rentalConflicts.increment();
+        rentLatency.record(nanos);
+    }
+
+    public void returned(boolean success, long nanos) {
+        if (success) {
+            returns.increment();
+        } else {
+            failedReturns.increment();
+        }
+        returnLatency.record(nanos);
+    }
+
+    public void lookedUp(long nanos) {
+        lookups.increment();
+        lookupLatency.record(nanos);
+    }
+
+    public long getRentals() { return rentals.sum(); }
+    public long getRentalConflicts() { return rentalConflicts.sum(); }
+    public long getReturns() { return returns.sum(); }
+    public long getFailedReturns() { return failedReturns.sum(); }
+    public long getLookups() { return lookups.sum(); }
+    public Map<String, LongAdder> getRentalsByVehicle() { return rentalsByVehicle; }
+
+    public LatencyHistogram getRentLatency() { return rentLatency; }
+    public LatencyHistogram getReturnLatency() { return returnLatency; }
+    public LatencyHistogram getLookupLatency() { return lookupLatency; }
+}
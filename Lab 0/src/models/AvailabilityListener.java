@@ -0,0 +1,10 @@
+package models;
+
+// Notified whenever a vehicle becomes available or gets rented out
+public interface AvailabilityListener {
+    void availabilityChanged(Vehicle vehicle, boolean available);
+
+    // Where a vehicle can be picked up matters to the same indexes as whether it can be
+    default void locationChanged(Vehicle vehicle, Location previous) {
+    }
+}
@@ -1,14 +1,16 @@
 package models;
 
 public class Car extends Vehicle {
-    private static final double DAILY_RATE = 50.0;
-
     public Car(String id, String brand) {
         super(id, brand);
     }
 
+    public Car(String id, String brand, Location location) {
+        super(id, brand, location);
+    }
+
     @Override
-    public double calculateRentalCost(int days) {
-        return DAILY_RATE * days;
+    public VehicleType getType() {
+        return VehicleType.CAR;
     }
 }
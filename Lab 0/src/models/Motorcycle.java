@@ -1,14 +1,16 @@
 package models;
 
 public class Motorcycle extends Vehicle {
-    private static final double DAILY_RATE = 30.0;
-
     public Motorcycle(String id, String brand) {
         super(id, brand);
     }
 
+    public Motorcycle(String id, String brand, Location location) {
+        super(id, brand, location);
+    }
+
     @Override
-    public double calculateRentalCost(int days) {
-        return DAILY_RATE * days;
+    public VehicleType getType() {
+        return VehicleType.MOTORCYCLE;
     }
 }
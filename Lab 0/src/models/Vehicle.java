@@ -1,9 +1,17 @@
 package models;
 
+import pricing.PricingEngine;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
 public abstract class Vehicle {
     private String id;
     private String brand;
-    private boolean isAvailable;
+    private volatile boolean isAvailable;
+    private volatile Location location;
+    private final List<AvailabilityListener> listeners = new CopyOnWriteArrayList<>();
 
     public Vehicle(String id, String brand) {
         this.id = id;
@@ -11,11 +19,62 @@ public abstract class Vehicle {
         this.isAvailable = true;
     }
 
-    // OCP: Each vehicle type implements its own pricing
-    public abstract double calculateRentalCost(int days);
+    public Vehicle(String id, String brand, Location location) {
+        this(id, brand);
+        this.location = location;
+    }
+
+    // OCP: Prices come from the vehicle's type and the pricing rules, not from each subclass
+    public double calculateRentalCost(int days) {
+        return calculateRentalCost(LocalDate.now(), days);
+    }
+
+    public double calculateRentalCost(LocalDate start, int days) {
+        return PricingEngine.getInstance().quote(getType(), start, days);
+    }
+
+    public abstract VehicleType getType();
 
     public String getId() { return id; }
     public String getBrand() { return brand; }
     public boolean isAvailable() { return isAvailable; }
-    public void setAvailable(boolean available) { this.isAvailable = available; }
+    public Location getLocation() { return location; }
+
+    // Moves the vehicle, e.g. when it is returned somewhere else; null means unknown
+    public synchronized void setLocation(Location location) {
+        Location previous = this.location;
+        this.location = location;
+        for (AvailabilityListener listener : listeners) {
+            listener.locationChanged(this, previous);
+        }
+    }
+
+    public void setAvailable(boolean available) { compareAndSetAvailable(!available, available); }
+
+    // Atomically rents the vehicle out; only one of several concurrent callers gets true
+    public boolean tryReserve() { return compareAndSetAvailable(true, false); }
+
+    // Atomically hands the vehicle back; false if it was not rented
+    public boolean release() { return compareAndSetAvailable(false, true); }
+
+    // Each vehicle guards its own state, so different vehicles never contend with each other.
+    // Listeners are called while holding this vehicle's lock, so indexes see every change in order
+    private boolean compareAndSetAvailable(boolean expected, boolean updated) {
+        if (isAvailable != expected) {
+            return false;
+        }
+        synchronized (this) {
+            if (isAvailable != expected) {
+                return false;
+            }
+            isAvailable = updated;
+            for (AvailabilityListener listener : listeners) {
+                listener.availabilityChanged(this, updated);
+            }
+            return true;
+        }
+    }
+
+    public void addAvailabilityListener(AvailabilityListener listener) { listeners.add(listener); }
+    public void removeAvailabilityListener(AvailabilityListener listener) { listeners.remove(listener); }
 }
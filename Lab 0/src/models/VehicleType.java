@@ -0,0 +1,17 @@
+package models;
+
+public enum VehicleType {
+    CAR(50.0),
+    MOTORCYCLE(30.0);
+
+    private final double dailyRate;
+
+    VehicleType(double dailyRate) {
+        this.dailyRate = dailyRate;
+    }
+
+    // Base price per day before any pricing rules are applied
+    public double getDailyRate() {
+        return dailyRate;
+    }
+}
@@ -0,0 +1,27 @@
+package pricing;
+
+import models.VehicleType;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.Set;
+
+public class DayOfWeekRule implements PricingRule {
+    private final Set<DayOfWeek> days;
+    private final double multiplier;
+
+    public DayOfWeekRule(Set<DayOfWeek> days, double multiplier) {
+        this.days = EnumSet.copyOf(days);
+        this.multiplier = multiplier;
+    }
+
+    public static DayOfWeekRule weekend(double multiplier) {
+        return new DayOfWeekRule(EnumSet.of(DayOfWeek.SATURDAY, DayOfWeek.SUNDAY), multiplier);
+    }
+
+    @Override
+    public double multiplier(VehicleType type, LocalDate day, long daysAhead, double utilization) {
+        return days.contains(day.getDayOfWeek()) ? multiplier : 1.0;
+    }
+}
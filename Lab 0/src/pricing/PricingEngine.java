@@ -0,0 +1,140 @@
+package pricing;
+
+import models.VehicleType;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+
+// Demand-based pricing. The rules are compiled into a RateTable covering the next
+// HORIZON_DAYS days, which is swapped in atomically whenever the rules change or a
+// refresh runs, so a quote is just a lookup and a subtraction. Stays outside the
+// table (in the past or too far ahead) fall back to evaluating the rules directly.
+public class PricingEngine {
+    public static final int HORIZON_DAYS = 400;
+
+    private final List<PricingRule> rules = new CopyOnWriteArrayList<>();
+    private final List<Runnable> refreshListeners = new CopyOnWriteArrayList<>();
+    private volatile ToDoubleFunction<VehicleType> utilization = type -> 0.0;
+    private volatile RateTable table;
+    private ScheduledExecutorService refresher;
+
+    private static class Holder {
+        private static final PricingEngine INSTANCE = new PricingEngine();
+    }
+
+    public PricingEngine() {
+        this.table = compile(0);
+    }
+
+    public static PricingEngine getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    public void addRule(PricingRule rule) {
+        rules.add(rule);
+        refresh();
+    }
+
+    public void removeRule(PricingRule rule) {
+        if (rules.remove(rule)) {
+            refresh();
+        }
+    }
+
+    // Where utilization rules get the rented share of each vehicle type from
+    public void setUtilizationSource(ToDoubleFunction<VehicleType> utilization) {
+        this.utilization = utilization;
+        refresh();
+    }
+
+    // Called after every refresh, e.g. to drop cached quotes
+    public void addRefreshListener(Runnable listener) {
+        refreshListeners.add(listener);
+    }
+
+    public void removeRefreshListener(Runnable listener) {
+        refreshListeners.remove(listener);
+    }
+
+    public double quote(VehicleType type, LocalDate start, int days) {
+        return quoteCents(type, start, days) / 100.0;
+    }
+
+    public long quoteCents(VehicleType type, LocalDate start, int days) {
+        if (days < 0) {
+            throw new IllegalArgumentException("Rental days must not be negative: " + days);
+        }
+        RateTable current = table;
+        long startDay = start.toEpochDay();
+        if (current.covers(startDay, days)) {
+            return current.priceCents(type, startDay, days);
+        }
+        double used = utilization.applyAsDouble(type);
+        long today = LocalDate.now().toEpochDay();
+        long total = 0;
+        for (long day = startDay; day < startDay + days; day++) {
+            total += dailyCents(type, LocalDate.ofEpochDay(day), day - today, used);
+        }
+        return total;
+    }
+
+    // Version of the rate table in use; changes every time prices may have changed
+    public long getVersion() {
+        return table.version;
+    }
+
+    // Recompiles the rate table from the current rules, utilization and date
+    public synchronized void refresh() {
+        table = compile(table == null ? 0 : table.version + 1);
+        for (Runnable listener : refreshListeners) {
+            listener.run();
+        }
+    }
+
+    // Keeps utilization-based prices current and rolls the table forward every day
+    public synchronized void startBackgroundRefresh(long periodMillis) {
+        if (refresher != null) {
+            return;
+        }
+        refresher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "pricing-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+        refresher.scheduleAtFixedRate(this::refresh, periodMillis, periodMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public synchronized void stopBackgroundRefresh() {
+        if (refresher != null) {
+            refresher.shutdown();
+            refresher = null;
+        }
+    }
+
+    private RateTable compile(long version) {
+        long today = LocalDate.now().toEpochDay();
+        VehicleType[] types = VehicleType.values();
+        long[][] prefix = new long[types.length][HORIZON_DAYS + 1];
+        for (VehicleType type : types) {
+            double used = utilization.applyAsDouble(type);
+            long[] sums = prefix[type.ordinal()];
+            for (int i = 0; i < HORIZON_DAYS; i++) {
+                sums[i + 1] = sums[i] + dailyCents(type, LocalDate.ofEpochDay(today + i), i, used);
+            }
+        }
+        return new RateTable(version, today, HORIZON_DAYS, prefix);
+    }
+
+    private long dailyCents(VehicleType type, LocalDate day, long daysAhead, double used) {
+        double rate = type.getDailyRate();
+        for (PricingRule rule : rules) {
+            rate *= rule.multiplier(type, day, daysAhead, used);
+        }
+        return Math.round(rate * 100);
+    }
+}
@@ -0,0 +1,13 @@
+package pricing;
+
+import models.VehicleType;
+
+import java.time.LocalDate;
+
+// OCP: New pricing policies are added as rules without touching the engine.
+// Rules are evaluated only when the rate tables are rebuilt, never per quote.
+public interface PricingRule {
+    // Factor applied to the daily rate of the given type on the given day (1.0 = no change).
+    // daysAhead is how far the day is from today, utilization the rented share of that type (0..1)
+    double multiplier(VehicleType type, LocalDate day, long daysAhead, double utilization);
+}
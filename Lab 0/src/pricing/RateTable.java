@@ -0,0 +1,29 @@
+package pricing;
+
+import models.VehicleType;
+
+// Immutable prices compiled from the rules: for each vehicle type, prefix sums of the
+// daily price in cents starting at firstDay, so the price of any stay is one subtraction
+final class RateTable {
+    final long version;
+    final long firstDay;
+    final int horizon;
+    private final long[][] prefixCents;
+
+    RateTable(long version, long firstDay, int horizon, long[][] prefixCents) {
+        this.version = version;
+        this.firstDay = firstDay;
+        this.horizon = horizon;
+        this.prefixCents = prefixCents;
+    }
+
+    boolean covers(long startDay, int days) {
+        return startDay >= firstDay && startDay - firstDay + days <= horizon;
+    }
+
+    long priceCents(VehicleType type, long startDay, int days) {
+        long[] prefix = prefixCents[type.ordinal()];
+        int from = (int) (startDay - firstDay);
+        return prefix[from + days] - prefix[from];
+    }
+}
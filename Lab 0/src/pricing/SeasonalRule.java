@@ -0,0 +1,28 @@
+package pricing;
+
+import models.VehicleType;
+
+import java.time.LocalDate;
+import java.time.Month;
+
+// Applies to every day in the months from..to, wrapping over the new year if needed
+public class SeasonalRule implements PricingRule {
+    private final Month from;
+    private final Month to;
+    private final double multiplier;
+
+    public SeasonalRule(Month from, Month to, double multiplier) {
+        this.from = from;
+        this.to = to;
+        this.multiplier = multiplier;
+    }
+
+    @Override
+    public double multiplier(VehicleType type, LocalDate day, long daysAhead, double utilization) {
+        int month = day.getMonthValue();
+        boolean inSeason = from.getValue() <= to.getValue()
+                ? month >= from.getValue() && month <= to.getValue()
+                : month >= from.getValue() || month <= to.getValue();
+        return inSeason ? multiplier : 1.0;
+    }
+}
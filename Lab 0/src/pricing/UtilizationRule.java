@@ -0,0 +1,23 @@
+package pricing;
+
+import models.VehicleType;
+
+import java.time.LocalDate;
+
+// Raises prices for the next few days once a vehicle type is mostly rented out
+public class UtilizationRule implements PricingRule {
+    private final double threshold;
+    private final double multiplier;
+    private final int withinDays;
+
+    public UtilizationRule(double threshold, double multiplier, int withinDays) {
+        this.threshold = threshold;
+        this.multiplier = multiplier;
+        this.withinDays = withinDays;
+    }
+
+    @Override
+    public double multiplier(VehicleType type, LocalDate day, long daysAhead, double utilization) {
+        return utilization >= threshold && daysAhead < withinDays ? multiplier : 1.0;
+    }
+}
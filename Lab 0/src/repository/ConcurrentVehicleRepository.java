@@ -0,0 +1,210 @@
+package repository;
+
+import models.AvailabilityListener;
+import models.Location;
+import models.Vehicle;
+import models.VehicleType;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Thread-safe repository that keeps live indexes of the available vehicles.
+// The indexes are updated from Vehicle.setAvailable, so availability queries read
+// them directly instead of scanning the fleet. Apart from the two lists, returned collections
+// are read-only, weakly consistent views rather than copies.
+public class ConcurrentVehicleRepository implements IVehicleRepository, AvailabilityListener {
+    private final Map<String, Vehicle> vehicles;
+    private final Map<String, Vehicle> available;
+    private final Map<VehicleType, Map<String, Vehicle>> availableByType = new EnumMap<>(VehicleType.class);
+    private final Map<String, Map<String, Vehicle>> availableByBrand = new ConcurrentHashMap<>();
+    private final Map<VehicleType, AtomicInteger> totalByType = new EnumMap<>(VehicleType.class);
+    private final FleetCalendar calendar = new FleetCalendar();
+    // Finest grid first (cells of about 1 km, then 18 km, then 280 km)
+    private final GeoGrid[] nearby = {new GeoGrid(0.01), new GeoGrid(0.16), new GeoGrid(2.56)};
+    private final List<AvailabilityListener> listeners = new CopyOnWriteArrayList<>();
+
+    public ConcurrentVehicleRepository(int expectedSize) {
+        this.vehicles = new ConcurrentHashMap<>(expectedSize);
+        this.available = new ConcurrentHashMap<>(expectedSize);
+        for (VehicleType type : VehicleType.values()) {
+            availableByType.put(type, new ConcurrentHashMap<>());
+            totalByType.put(type, new AtomicInteger());
+        }
+    }
+
+    public ConcurrentVehicleRepository() {
+        this(16);
+    }
+
+    @Override
+    public void addVehicle(Vehicle vehicle) {
+        Vehicle previous = vehicles.put(vehicle.getId(), vehicle);
+        calendar.register(vehicle);
+        if (previous == vehicle) {
+            return;
+        }
+        totalByType.get(vehicle.getType()).incrementAndGet();
+        if (previous != null) {
+            totalByType.get(previous.getType()).decrementAndGet();
+            synchronized (previous) {
+                previous.removeAvailabilityListener(this);
+                unindex(previous);
+            }
+        }
+        // Registering under the vehicle's lock so no availability change slips in between
+        synchronized (vehicle) {
+            vehicle.addAvailabilityListener(this);
+            if (vehicle.isAvailable()) {
+                index(vehicle);
+            }
+        }
+    }
+
+    @Override
+    public void availabilityChanged(Vehicle vehicle, boolean isAvailable) {
+        if (isAvailable) {
+            index(vehicle);
+        } else {
+            unindex(vehicle);
+        }
+        for (AvailabilityListener listener : listeners) {
+            listener.availabilityChanged(vehicle, isAvailable);
+        }
+    }
+
+    @Override
+    public void locationChanged(Vehicle vehicle, Location previous) {
+        if (vehicle.isAvailable()) {
+            for (GeoGrid grid : nearby) {
+                if (previous != null) {
+                    grid.remove(vehicle, previous);
+                }
+                if (vehicle.getLocation() != null) {
+                    grid.add(vehicle, vehicle.getLocation());
+                }
+            }
+        }
+        for (AvailabilityListener listener : listeners) {
+            listener.locationChanged(vehicle, previous);
+        }
+    }
+
+    @Override
+    public void addAvailabilityListener(AvailabilityListener listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public void removeAvailabilityListener(AvailabilityListener listener) {
+        listeners.remove(listener);
+    }
+
+    private void index(Vehicle vehicle) {
+        available.put(vehicle.getId(), vehicle);
+        availableByType.get(vehicle.getType()).put(vehicle.getId(), vehicle);
+        availableByBrand.computeIfAbsent(vehicle.getBrand(), brand -> new ConcurrentHashMap<>())
+                .put(vehicle.getId(), vehicle);
+        if (vehicle.getLocation() != null) {
+            for (GeoGrid grid : nearby) {
+                grid.add(vehicle, vehicle.getLocation());
+            }
+        }
+    }
+
+    private void unindex(Vehicle vehicle) {
+        available.remove(vehicle.getId(), vehicle);
+        availableByType.get(vehicle.getType()).remove(vehicle.getId(), vehicle);
+        Map<String, Vehicle> byBrand = availableByBrand.get(vehicle.getBrand());
+        if (byBrand != null) {
+            byBrand.remove(vehicle.getId(), vehicle);
+        }
+        if (vehicle.getLocation() != null) {
+            for (GeoGrid grid : nearby) {
+                grid.remove(vehicle, vehicle.getLocation());
+            }
+        }
+    }
+
+    @Override
+    public Vehicle getVehicleById(String id) {
+        return vehicles.get(id);
+    }
+
+    @Override
+    public List<Vehicle> getAllVehicles() {
+        return new ArrayList<>(vehicles.values());
+    }
+
+    @Override
+    public List<Vehicle> getAvailableVehicles() {
+        return new ArrayList<>(available.values());
+    }
+
+    @Override
+    public Collection<Vehicle> getAllVehiclesView() {
+        return Collections.unmodifiableCollection(vehicles.values());
+    }
+
+    @Override
+    public Collection<Vehicle> getAvailableVehiclesView() {
+        return Collections.unmodifiableCollection(available.values());
+    }
+
+    @Override
+    public Collection<Vehicle> getAvailableVehicles(VehicleType type) {
+        return Collections.unmodifiableCollection(availableByType.get(type).values());
+    }
+
+    @Override
+    public Collection<Vehicle> getAvailableVehiclesByBrand(String brand) {
+        Map<String, Vehicle> byBrand = availableByBrand.get(brand);
+        return byBrand == null
+                ? Collections.emptyList()
+                : Collections.unmodifiableCollection(byBrand.values());
+    }
+
+    @Override
+    public List<Vehicle> findNearestAvailable(double latitude, double longitude, int k) {
+        for (int level = 0; level < nearby.length - 1; level++) {
+            List<Vehicle> nearest = nearby[level].nearest(latitude, longitude, k, 16);
+            if (nearest != null) {
+                return nearest;
+            }
+        }
+        return nearby[nearby.length - 1].nearest(latitude, longitude, k, Long.MAX_VALUE);
+    }
+
+    @Override
+    public double getUtilization(VehicleType type) {
+        int total = totalByType.get(type).get();
+        return total == 0 ? 0.0 : 1.0 - (double) availableByType.get(type).size() / total;
+    }
+
+    @Override
+    public int countAvailableVehicles() {
+        return available.size();
+    }
+
+    @Override
+    public boolean bookVehicle(String id, LocalDate from, LocalDate to) {
+        return calendar.book(id, from, to);
+    }
+
+    @Override
+    public boolean cancelBooking(String id, LocalDate from, LocalDate to) {
+        return calendar.cancel(id, from, to);
+    }
+
+    @Override
+    public Collection<Vehicle> findVehiclesFreeBetween(LocalDate from, LocalDate to) {
+        return calendar.findFreeBetween(from, to);
+    }
+}
@@ -0,0 +1,182 @@
+package repository;
+
+import models.Vehicle;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+// Future bookings for the whole fleet, stored as one bitmap per day with a bit per vehicle.
+// Every vehicle gets a slot; slots are grouped into chunks of 4096 so the bitmaps are only
+// allocated for days and parts of the fleet that actually have bookings. Finding the
+// vehicles free over a date range ORs the day bitmaps together, 64 vehicles per word.
+// Date ranges are half-open: a booking from Friday to Monday covers Friday, Saturday and Sunday.
+// A second set of bitmaps marks the first day of each booking, so back-to-back bookings of
+// one vehicle stay separate and can be cancelled one at a time.
+public class FleetCalendar {
+    private static final int CHUNK_BITS = 12;
+    private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+    private static final int WORDS_PER_CHUNK = CHUNK_SIZE / Long.SIZE;
+    private static final int LOCK_STRIPES = 64;
+
+    private final Map<String, Integer> slots = new ConcurrentHashMap<>();
+    private final Map<Integer, AtomicReferenceArray<Vehicle>> vehicles = new ConcurrentHashMap<>();
+    private final AtomicInteger slotCount = new AtomicInteger();
+
+    // Keyed by day and chunk, see key()
+    private final Map<Long, AtomicLongArray> days = new ConcurrentHashMap<>();
+    private final Map<Long, AtomicLongArray> starts = new ConcurrentHashMap<>();
+
+    // Bookings of the same vehicle are serialized; different vehicles rarely share a stripe
+    private final Object[] locks = new Object[LOCK_STRIPES];
+
+    public FleetCalendar() {
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    // Gives the vehicle a slot, or takes over the slot of an earlier vehicle with the same id
+    public void register(Vehicle vehicle) {
+        int slot = slots.computeIfAbsent(vehicle.getId(), id -> slotCount.getAndIncrement());
+        vehicles.computeIfAbsent(slot >>> CHUNK_BITS, chunk -> new AtomicReferenceArray<>(CHUNK_SIZE))
+                .set(slot & (CHUNK_SIZE - 1), vehicle);
+    }
+
+    // Books every day in [from, to) for the vehicle, or nothing if any of those days is taken.
+    // Bookings cannot start in the past.
+    public boolean book(String vehicleId, LocalDate from, LocalDate to) {
+        Integer slot = slots.get(vehicleId);
+        if (slot == null || !from.isBefore(to) || from.isBefore(LocalDate.now())) {
+            return false;
+        }
+        long first = from.toEpochDay();
+        long last = to.toEpochDay();
+        synchronized (locks[slot & (LOCK_STRIPES - 1)]) {
+            for (long day = first; day < last; day++) {
+                if (isSet(days, day, slot)) {
+                    return false;
+                }
+            }
+            for (long day = first; day < last; day++) {
+                set(days, day, slot);
+            }
+            set(starts, first, slot);
+        }
+        return true;
+    }
+
+    // Cancels the booking that covers exactly [from, to); false if there is no such booking
+    // (part of a booking, or a range spanning several bookings, is left alone)
+    public boolean cancel(String vehicleId, LocalDate from, LocalDate to) {
+        Integer slot = slots.get(vehicleId);
+        if (slot == null || !from.isBefore(to)) {
+            return false;
+        }
+        long first = from.toEpochDay();
+        long last = to.toEpochDay();
+        synchronized (locks[slot & (LOCK_STRIPES - 1)]) {
+            if (!isSet(starts, first, slot)) {
+                return false;
+            }
+            for (long day = first; day < last; day++) {
+                if (!isSet(days, day, slot) || (day > first && isSet(starts, day, slot))) {
+                    return false;
+                }
+            }
+            if (isSet(days, last, slot) && !isSet(starts, last, slot)) {
+                return false; // the booking goes on past "to"
+            }
+            for (long day = first; day < last; day++) {
+                clear(days, day, slot);
+            }
+            clear(starts, first, slot);
+        }
+        return true;
+    }
+
+    public boolean isFree(String vehicleId, LocalDate from, LocalDate to) {
+        Integer slot = slots.get(vehicleId);
+        if (slot == null) {
+            return false;
+        }
+        for (long day = from.toEpochDay(); day < to.toEpochDay(); day++) {
+            if (isSet(days, day, slot)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Vehicles with no booking on any day in [from, to)
+    public List<Vehicle> findFreeBetween(LocalDate from, LocalDate to) {
+        List<Vehicle> free = new ArrayList<>();
+        long first = from.toEpochDay();
+        long last = to.toEpochDay();
+        int count = slotCount.get();
+        int chunks = (count + CHUNK_SIZE - 1) >>> CHUNK_BITS;
+        long[] booked = new long[WORDS_PER_CHUNK];
+
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            AtomicReferenceArray<Vehicle> chunkVehicles = vehicles.get(chunk);
+            if (chunkVehicles == null) {
+                continue;
+            }
+            Arrays.fill(booked, 0L);
+            for (long day = first; day < last; day++) {
+                AtomicLongArray words = days.get(key(day, chunk));
+                if (words != null) {
+                    for (int w = 0; w < WORDS_PER_CHUNK; w++) {
+                        booked[w] |= words.get(w);
+                    }
+                }
+            }
+
+            int base = chunk << CHUNK_BITS;
+            for (int w = 0; w < WORDS_PER_CHUNK && base + w * Long.SIZE < count; w++) {
+                long freeBits = ~booked[w];
+                while (freeBits != 0) {
+                    int bit = Long.numberOfTrailingZeros(freeBits);
+                    freeBits &= freeBits - 1;
+                    int offset = w * Long.SIZE + bit;
+                    Vehicle vehicle = chunkVehicles.get(offset);
+                    if (vehicle != null) {
+                        free.add(vehicle);
+                    }
+                }
+            }
+        }
+        return free;
+    }
+
+    private static boolean isSet(Map<Long, AtomicLongArray> bitmaps, long day, int slot) {
+        AtomicLongArray words = bitmaps.get(key(day, slot >>> CHUNK_BITS));
+        return words != null && (words.get(wordIndex(slot)) & (1L << slot)) != 0;
+    }
+
+    private static void set(Map<Long, AtomicLongArray> bitmaps, long day, int slot) {
+        AtomicLongArray words = bitmaps.computeIfAbsent(key(day, slot >>> CHUNK_BITS),
+                k -> new AtomicLongArray(WORDS_PER_CHUNK));
+        long bit = 1L << slot;
+        words.getAndUpdate(wordIndex(slot), word -> word | bit);
+    }
+
+    private static void clear(Map<Long, AtomicLongArray> bitmaps, long day, int slot) {
+        long mask = ~(1L << slot);
+        bitmaps.get(key(day, slot >>> CHUNK_BITS)).getAndUpdate(wordIndex(slot), word -> word & mask);
+    }
+
+    private static int wordIndex(int slot) {
+        return (slot & (CHUNK_SIZE - 1)) >>> 6;
+    }
+
+    private static long key(long epochDay, int chunk) {
+        return (epochDay << 20) | chunk;
+    }
+}
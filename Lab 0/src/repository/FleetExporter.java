@@ -0,0 +1,88 @@
+package repository;
+
+import models.Location;
+import models.Vehicle;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+// Writes the fleet in the CSV format read by FleetImporter, streaming vehicle by vehicle.
+// Vehicles without a location get empty latitude and longitude fields. An id or brand with a
+// comma, quote or line break is written in double quotes (see FleetImporter for the escapes).
+public class FleetExporter {
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private FleetExporter() {
+    }
+
+    // Returns the number of vehicles written
+    public static int export(IVehicleRepository repository, Path file) throws IOException {
+        int exported = 0;
+        try (BufferedWriter writer = new BufferedWriter(
+                new OutputStreamWriter(Files.newOutputStream(file), StandardCharsets.UTF_8), BUFFER_SIZE)) {
+            writer.write("type,id,brand,latitude,longitude\n");
+            for (Vehicle v : repository.getAllVehiclesView()) {
+                writer.write(v.getType().name());
+                writer.write(',');
+                writeField(writer, v.getId());
+                writer.write(',');
+                writeField(writer, v.getBrand());
+                writer.write(',');
+                Location location = v.getLocation();
+                if (location != null) {
+                    writer.write(Double.toString(location.getLatitude()));
+                    writer.write(',');
+                    writer.write(Double.toString(location.getLongitude()));
+                } else {
+                    writer.write(',');
+                }
+                writer.write('\n');
+                exported++;
+            }
+        }
+        return exported;
+    }
+
+    private static void writeField(Writer writer, String value) throws IOException {
+        if (!needsQuotes(value)) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    writer.write("\"\"");
+                    break;
+                case '\\':
+                    writer.write("\\\\");
+                    break;
+                case '\n':
+                    writer.write("\\n");
+                    break;
+                case '\r':
+                    writer.write("\\r");
+                    break;
+                default:
+                    writer.write(c);
+            }
+        }
+        writer.write('"');
+    }
+
+    private static boolean needsQuotes(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,255 @@
+package repository;
+
+import models.Car;
+import models.Location;
+import models.Motorcycle;
+import models.Vehicle;
+import models.VehicleType;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+// Bulk loads a fleet from a CSV file with one "type,id,brand,latitude,longitude" record per
+// line (an optional header is skipped). The location columns may be left empty or left out
+// altogether ("type,id,brand"); they are read from the end of the record, so a brand may
+// contain commas. Ids and brands may also be quoted the way FleetExporter writes them.
+// The file is memory-mapped and split into chunks that are parsed in parallel; each chunk
+// hands its vehicles to the repository in batches, so only the vehicles themselves end up
+// on the heap.
+public class FleetImporter {
+    private static final long MIN_CHUNK_BYTES = 1 << 20;
+    private static final int MAX_RECORD_BYTES = 64 * 1024;
+    private static final int BATCH_SIZE = 4096;
+    private static final int AVERAGE_RECORD_BYTES = 40;
+
+    private FleetImporter() {
+    }
+
+    // Creates a repository sized for the file and loads it
+    public static ConcurrentVehicleRepository load(Path file) throws IOException {
+        long size = file.toFile().length();
+        int expected = (int) Math.min(Integer.MAX_VALUE, size / AVERAGE_RECORD_BYTES + 16);
+        ConcurrentVehicleRepository repository = new ConcurrentVehicleRepository(expected);
+        importInto(repository, file);
+        return repository;
+    }
+
+    // Returns the number of vehicles added
+    public static int importInto(IVehicleRepository repository, Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            int chunks = (int) Math.max(1, Math.min(Runtime.getRuntime().availableProcessors() * 4L,
+                    size / MIN_CHUNK_BYTES));
+            long chunkBytes = (size + chunks - 1) / chunks;
+            try {
+                return IntStream.range(0, chunks).parallel()
+                        .map(i -> {
+                            long start = i * chunkBytes;
+                            long end = Math.min(size, start + chunkBytes);
+                            return importChunk(repository, channel, start, end, size);
+                        })
+                        .sum();
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        }
+    }
+
+    // Parses every record that starts in [start, end); the last one may run past end
+    private static int importChunk(IVehicleRepository repository, FileChannel channel,
+                                   long start, long end, long size) {
+        if (start >= end) {
+            return 0;
+        }
+        MappedByteBuffer buffer;
+        long mapStart = start == 0 ? 0 : start - 1;
+        try {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, mapStart,
+                    Math.min(size, end + MAX_RECORD_BYTES) - mapStart);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        int position = 0;
+        int limit = (int) (end - mapStart);
+        if (start > 0) {
+            // Skip the tail of a record that belongs to the previous chunk
+            while (position < buffer.limit() && buffer.get(position) != '\n') {
+                position++;
+            }
+            position++;
+        }
+
+        byte[] record = new byte[256];
+        List<Vehicle> batch = new ArrayList<>(BATCH_SIZE);
+        int imported = 0;
+        while (position < limit) {
+            int recordEnd = position;
+            while (recordEnd < buffer.limit() && buffer.get(recordEnd) != '\n') {
+                recordEnd++;
+            }
+            if (recordEnd == buffer.limit() && mapStart + recordEnd < size) {
+                throw new IllegalArgumentException("Fleet record too long at byte " + (mapStart + position));
+            }
+
+            int length = recordEnd - position;
+            if (length > record.length) {
+                record = new byte[length];
+            }
+            buffer.get(position, record, 0, length);
+            Vehicle vehicle = parse(record, length, mapStart + position);
+            if (vehicle != null) {
+                batch.add(vehicle);
+                if (batch.size() == BATCH_SIZE) {
+                    repository.addVehicles(batch);
+                    imported += batch.size();
+                    batch.clear();
+                }
+            }
+            position = recordEnd + 1;
+        }
+        if (!batch.isEmpty()) {
+            repository.addVehicles(batch);
+            imported += batch.size();
+        }
+        return imported;
+    }
+
+    // Returns null for blank lines and the header
+    private static Vehicle parse(byte[] record, int length, long offset) {
+        if (length > 0 && record[length - 1] == '\r') {
+            length--;
+        }
+        if (length == 0) {
+            return null;
+        }
+        List<String> fields = split(record, length, offset);
+        if (fields.size() < 3) {
+            throw new IllegalArgumentException("Malformed fleet record at byte " + offset);
+        }
+        String type = fields.get(0).trim();
+        if (type.equalsIgnoreCase("type")) {
+            return null;
+        }
+        String id = fields.get(1).trim();
+
+        // The last two fields are the location when they are numbers (or both empty)
+        int brandEnd = fields.size();
+        Location location = null;
+        if (fields.size() >= 5) {
+            String latitude = fields.get(fields.size() - 2).trim();
+            String longitude = fields.get(fields.size() - 1).trim();
+            if (latitude.isEmpty() && longitude.isEmpty()) {
+                brandEnd -= 2;
+            } else if (isNumber(latitude) && isNumber(longitude)) {
+                brandEnd -= 2;
+                try {
+                    location = new Location(Double.parseDouble(latitude), Double.parseDouble(longitude));
+                } catch (IllegalArgumentException e) {
+                    throw new IllegalArgumentException("Invalid location at byte " + offset + ": " + e.getMessage());
+                }
+            }
+        }
+        String brand = String.join(",", fields.subList(2, brandEnd)).trim();
+        VehicleType vehicleType;
+        try {
+            vehicleType = VehicleType.valueOf(type.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown vehicle type '" + type + "' at byte " + offset);
+        }
+        return createVehicle(vehicleType, id, brand, location);
+    }
+
+    // Splits a record at its commas. A field in double quotes may contain commas; inside it ""
+    // stands for a quote and \n, \r and \\ for a line break and a backslash, so a record never
+    // spans lines and the file can still be split into chunks at any newline.
+    private static List<String> split(byte[] record, int length, long offset) {
+        List<String> fields = new ArrayList<>(5);
+        int position = 0;
+        while (true) {
+            int start = position;
+            while (start < length && record[start] == ' ') {
+                start++;
+            }
+            int end;
+            if (start < length && record[start] == '"') {
+                byte[] value = new byte[length - start];
+                int size = 0;
+                end = start + 1;
+                while (true) {
+                    if (end >= length) {
+                        throw new IllegalArgumentException("Unterminated quoted field at byte " + offset);
+                    }
+                    byte b = record[end++];
+                    if (b == '"') {
+                        if (end < length && record[end] == '"') {
+                            value[size++] = '"';
+                            end++;
+                            continue;
+                        }
+                        break;
+                    }
+                    if (b == '\\' && end < length) {
+                        byte escaped = record[end++];
+                        b = escaped == 'n' ? (byte) '\n' : escaped == 'r' ? (byte) '\r' : escaped;
+                    }
+                    value[size++] = b;
+                }
+                while (end < length && record[end] == ' ') {
+                    end++;
+                }
+                if (end < length && record[end] != ',') {
+                    throw new IllegalArgumentException("Malformed quoted field at byte " + offset);
+                }
+                fields.add(new String(value, 0, size, StandardCharsets.UTF_8));
+            } else {
+                int comma = indexOf(record, ',', position, length);
+                end = comma < 0 ? length : comma;
+                fields.add(new String(record, position, end - position, StandardCharsets.UTF_8));
+            }
+            if (end >= length) {
+                return fields;
+            }
+            position = end + 1;
+        }
+    }
+
+    private static Vehicle createVehicle(VehicleType type, String id, String brand, Location location) {
+        switch (type) {
+            case CAR:
+                return new Car(id, brand, location);
+            case MOTORCYCLE:
+                return new Motorcycle(id, brand, location);
+            default:
+                throw new IllegalArgumentException("Unsupported vehicle type: " + type);
+        }
+    }
+
+    private static boolean isNumber(String field) {
+        if (field.isEmpty()) {
+            return false;
+        }
+        try {
+            return Double.isFinite(Double.parseDouble(field));
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private static int indexOf(byte[] record, char c, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (record[i] == c) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,152 @@
+package repository;
+
+import models.Location;
+import models.Vehicle;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+
+// Spatial index of vehicles over a grid of square cells (in degrees). A nearest-vehicles
+// query looks at the cell of the point first and then at rings of cells around it, and
+// stops as soon as no unvisited ring can be closer than the k-th vehicle found so far,
+// so the work depends on how dense the fleet is around the point, not on the fleet size.
+// Far from any vehicle that can take many rings, so a search can be capped and retried on
+// a coarser grid. Longitudes are not wrapped around the date line.
+class GeoGrid {
+    private static final double METERS_PER_DEGREE = 111_195;
+
+    private final double cellDegrees;
+    private final Map<Long, Map<String, Vehicle>> cells = new ConcurrentHashMap<>();
+    private final AtomicInteger size = new AtomicInteger();
+
+    // Bounds of every cell ever used, so searches around an empty area terminate
+    private final LongAccumulator minRow = new LongAccumulator(Math::min, Long.MAX_VALUE);
+    private final LongAccumulator maxRow = new LongAccumulator(Math::max, Long.MIN_VALUE);
+    private final LongAccumulator minColumn = new LongAccumulator(Math::min, Long.MAX_VALUE);
+    private final LongAccumulator maxColumn = new LongAccumulator(Math::max, Long.MIN_VALUE);
+
+    GeoGrid(double cellDegrees) {
+        this.cellDegrees = cellDegrees;
+    }
+
+    void add(Vehicle vehicle, Location location) {
+        long row = row(location.getLatitude());
+        long column = column(location.getLongitude());
+        minRow.accumulate(row);
+        maxRow.accumulate(row);
+        minColumn.accumulate(column);
+        maxColumn.accumulate(column);
+        Map<String, Vehicle> cell = cells.computeIfAbsent(key(row, column), k -> new ConcurrentHashMap<>());
+        if (cell.put(vehicle.getId(), vehicle) == null) {
+            size.incrementAndGet();
+        }
+    }
+
+    void remove(Vehicle vehicle, Location location) {
+        Map<String, Vehicle> cell = cells.get(key(row(location.getLatitude()), column(location.getLongitude())));
+        if (cell != null && cell.remove(vehicle.getId(), vehicle)) {
+            size.decrementAndGet();
+        }
+    }
+
+    // Up to k vehicles nearest to the point, closest first, or null if that could not be
+    // settled within maxRings rings of cells around the point
+    List<Vehicle> nearest(double latitude, double longitude, int k, long maxRings) {
+        if (k <= 0 || size.get() == 0) {
+            return new ArrayList<>();
+        }
+        Comparator<Candidate> byDistance = Comparator.comparingDouble(c -> c.distance);
+        PriorityQueue<Candidate> best = new PriorityQueue<>(k, byDistance.reversed());
+
+        long centerRow = row(latitude);
+        long centerColumn = column(longitude);
+        long lastRing = Math.max(
+                Math.max(Math.abs(maxRow.get() - centerRow), Math.abs(centerRow - minRow.get())),
+                Math.max(Math.abs(maxColumn.get() - centerColumn), Math.abs(centerColumn - minColumn.get())));
+
+        for (long ring = 0; ring <= lastRing; ring++) {
+            if (best.size() == k && best.peek().distance <= minDistanceToRing(latitude, ring)) {
+                break;
+            }
+            if (ring > maxRings) {
+                return null;
+            }
+            for (long row = centerRow - ring; row <= centerRow + ring; row++) {
+                boolean edgeRow = row == centerRow - ring || row == centerRow + ring;
+                long step = edgeRow || ring == 0 ? 1 : 2 * ring;
+                for (long column = centerColumn - ring; column <= centerColumn + ring; column += step) {
+                    visit(cells.get(key(row, column)), latitude, longitude, k, best);
+                }
+            }
+        }
+
+        List<Vehicle> nearest = new ArrayList<>(best.size());
+        while (!best.isEmpty()) {
+            nearest.add(best.poll().vehicle);
+        }
+        Collections.reverse(nearest);
+        return nearest;
+    }
+
+    private static void visit(Map<String, Vehicle> cell, double latitude, double longitude, int k,
+                              PriorityQueue<Candidate> best) {
+        if (cell == null) {
+            return;
+        }
+        for (Vehicle vehicle : cell.values()) {
+            Location location = vehicle.getLocation();
+            if (location == null) {
+                continue;
+            }
+            double distance = location.distanceMeters(latitude, longitude);
+            if (best.size() < k) {
+                best.add(new Candidate(vehicle, distance));
+            } else if (distance < best.peek().distance) {
+                best.poll();
+                best.add(new Candidate(vehicle, distance));
+            }
+        }
+    }
+
+    // Lower bound for the distance from the point to anything in the given ring or further out.
+    // Cells get narrower towards the poles, so use the width at the highest latitude it can reach
+    private double minDistanceToRing(double latitude, long ring) {
+        if (ring == 0) {
+            return 0;
+        }
+        double reach = Math.min(90, Math.abs(latitude) + (ring + 1) * cellDegrees);
+        double cellMeters = cellDegrees * METERS_PER_DEGREE * Math.cos(Math.toRadians(reach));
+        return (ring - 1) * Math.max(0, cellMeters);
+    }
+
+    private long row(double latitude) {
+        return (long) Math.floor(latitude / cellDegrees);
+    }
+
+    private long column(double longitude) {
+        return (long) Math.floor(longitude / cellDegrees);
+    }
+
+    // Packs the cell coordinates and scrambles them (an odd multiplier keeps keys unique),
+    // as Long.hashCode of neighbouring packed cells would collide
+    private static long key(long row, long column) {
+        return ((row << 32) | (column & 0xFFFF_FFFFL)) * 0x9E3779B97F4A7C15L;
+    }
+
+    private static final class Candidate {
+        final Vehicle vehicle;
+        final double distance;
+
+        Candidate(Vehicle vehicle, double distance) {
+            this.vehicle = vehicle;
+            this.distance = distance;
+        }
+    }
+}
@@ -1,7 +1,14 @@
 package repository;
 
+import models.AvailabilityListener;
 import models.Vehicle;
+import models.VehicleType;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.List;
+import java.util.stream.Collectors;
 
 // DIP: Interface (abstraction) that high-level modules depend on
 public interface IVehicleRepository {
@@ -9,4 +16,73 @@ public interface IVehicleRepository {
     Vehicle getVehicleById(String id);
     List<Vehicle> getAllVehicles();
     List<Vehicle> getAvailableVehicles();
+
+    // Read-only views for callers that only iterate or count; unlike the lists above they need
+    // not be copies, so a repository with live indexes can hand them out without copying
+    default Collection<Vehicle> getAllVehiclesView() {
+        return getAllVehicles();
+    }
+
+    default Collection<Vehicle> getAvailableVehiclesView() {
+        return getAvailableVehicles();
+    }
+
+    // Notified of every rent/return of any vehicle in the repository, in order per vehicle
+    void addAvailabilityListener(AvailabilityListener listener);
+    void removeAvailabilityListener(AvailabilityListener listener);
+
+    // Used by bulk loads, which may add several batches concurrently
+    default void addVehicles(Collection<? extends Vehicle> batch) {
+        for (Vehicle vehicle : batch) {
+            addVehicle(vehicle);
+        }
+    }
+
+    // Future bookings; date ranges are half-open [from, to)
+    boolean bookVehicle(String id, LocalDate from, LocalDate to);
+    boolean cancelBooking(String id, LocalDate from, LocalDate to);
+    Collection<Vehicle> findVehiclesFreeBetween(LocalDate from, LocalDate to);
+
+    // Atomically rents out the vehicle; returns it, or null if it is unknown or already rented
+    default Vehicle reserveVehicle(String id) {
+        Vehicle vehicle = getVehicleById(id);
+        return vehicle != null && vehicle.tryReserve() ? vehicle : null;
+    }
+
+    // Atomically returns the vehicle; false if it is unknown or was not rented
+    default boolean releaseVehicle(String id) {
+        Vehicle vehicle = getVehicleById(id);
+        return vehicle != null && vehicle.release();
+    }
+
+    default Collection<Vehicle> getAvailableVehicles(VehicleType type) {
+        return getAvailableVehiclesView().stream()
+                .filter(v -> v.getType() == type)
+                .collect(Collectors.toList());
+    }
+
+    default Collection<Vehicle> getAvailableVehiclesByBrand(String brand) {
+        return getAvailableVehiclesView().stream()
+                .filter(v -> v.getBrand().equals(brand))
+                .collect(Collectors.toList());
+    }
+
+    // Up to k available vehicles closest to the point, nearest first; vehicles without a location are skipped
+    default List<Vehicle> findNearestAvailable(double latitude, double longitude, int k) {
+        return getAvailableVehiclesView().stream()
+                .filter(v -> v.getLocation() != null)
+                .sorted(Comparator.comparingDouble(v -> v.getLocation().distanceMeters(latitude, longitude)))
+                .limit(k)
+                .collect(Collectors.toList());
+    }
+
+    // Share of the vehicles of this type that are rented out right now (0..1)
+    default double getUtilization(VehicleType type) {
+        long total = getAllVehiclesView().stream().filter(v -> v.getType() == type).count();
+        return total == 0 ? 0.0 : 1.0 - (double) getAvailableVehicles(type).size() / total;
+    }
+
+    default int countAvailableVehicles() {
+        return getAvailableVehiclesView().size();
+    }
 }
@@ -1,32 +1,65 @@
 package repository;
 
+import models.AvailabilityListener;
 import models.Vehicle;
+import java.time.LocalDate;
 import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
 
+// Simple repository: every access to the vehicle map goes through this object's lock
 public class VehicleRepository implements IVehicleRepository {
     private Map<String, Vehicle> vehicles;
+    private FleetCalendar calendar = new FleetCalendar();
+    private List<AvailabilityListener> listeners = new CopyOnWriteArrayList<>();
 
     public VehicleRepository() {
         this.vehicles = new HashMap<>();
     }
 
     @Override
-    public void addVehicle(Vehicle vehicle) {
+    public synchronized void addVehicle(Vehicle vehicle) {
         vehicles.put(vehicle.getId(), vehicle);
+        calendar.register(vehicle);
+        for (AvailabilityListener listener : listeners) {
+            vehicle.addAvailabilityListener(listener);
+        }
+    }
+
+    @Override
+    public synchronized void addVehicles(Collection<? extends Vehicle> batch) {
+        for (Vehicle vehicle : batch) {
+            addVehicle(vehicle);
+        }
+    }
+
+    @Override
+    public synchronized void addAvailabilityListener(AvailabilityListener listener) {
+        listeners.add(listener);
+        for (Vehicle v : vehicles.values()) {
+            v.addAvailabilityListener(listener);
+        }
+    }
+
+    @Override
+    public synchronized void removeAvailabilityListener(AvailabilityListener listener) {
+        listeners.remove(listener);
+        for (Vehicle v : vehicles.values()) {
+            v.removeAvailabilityListener(listener);
+        }
     }
 
     @Override
-    public Vehicle getVehicleById(String id) {
+    public synchronized Vehicle getVehicleById(String id) {
         return vehicles.get(id);
     }
 
     @Override
-    public List<Vehicle> getAllVehicles() {
+    public synchronized List<Vehicle> getAllVehicles() {
         return new ArrayList<>(vehicles.values());
     }
 
     @Override
-    public List<Vehicle> getAvailableVehicles() {
+    public synchronized List<Vehicle> getAvailableVehicles() {
         List<Vehicle> available = new ArrayList<>();
         for (Vehicle v : vehicles.values()) {
             if (v.isAvailable()) {
@@ -35,4 +68,19 @@ public class VehicleRepository implements IVehicleRepository {
         }
         return available;
     }
+
+    @Override
+    public boolean bookVehicle(String id, LocalDate from, LocalDate to) {
+        return calendar.book(id, from, to);
+    }
+
+    @Override
+    public boolean cancelBooking(String id, LocalDate from, LocalDate to) {
+        return calendar.cancel(id, from, to);
+    }
+
+    @Override
+    public Collection<Vehicle> findVehiclesFreeBetween(LocalDate from, LocalDate to) {
+        return calendar.findFreeBetween(from, to);
+    }
 }
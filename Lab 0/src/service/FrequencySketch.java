@@ -0,0 +1,60 @@
+package service;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+// Approximate access counts (count-min sketch) used by QuoteCache to decide whether a
+// new quote is worth evicting an existing one. Counters saturate at 15 and are all
+// halved after every sample period, so old popularity fades away.
+class FrequencySketch {
+    private static final int MAX_COUNT = 15;
+    private static final long[] SEEDS = {
+            0x9E3779B97F4A7C15L, 0xC2B2AE3D27D4EB4FL, 0x165667B19E3779F9L, 0xD6E8FEB86659FD93L
+    };
+
+    private final AtomicIntegerArray counters;
+    private final int mask;
+    private final int samplePeriod;
+    private final AtomicInteger additions = new AtomicInteger();
+
+    FrequencySketch(int capacity) {
+        int width = Integer.highestOneBit(Math.max(16, capacity * 4 - 1)) << 1;
+        this.counters = new AtomicIntegerArray(width);
+        this.mask = width - 1;
+        this.samplePeriod = capacity * 10;
+    }
+
+    void increment(long key) {
+        for (long seed : SEEDS) {
+            int index = index(key, seed);
+            counters.getAndUpdate(index, count -> count < MAX_COUNT ? count + 1 : count);
+        }
+        if (additions.incrementAndGet() >= samplePeriod) {
+            reset();
+        }
+    }
+
+    int frequency(long key) {
+        int min = MAX_COUNT;
+        for (long seed : SEEDS) {
+            min = Math.min(min, counters.get(index(key, seed)));
+        }
+        return min;
+    }
+
+    private synchronized void reset() {
+        if (additions.get() < samplePeriod) {
+            return;
+        }
+        for (int i = 0; i < counters.length(); i++) {
+            counters.getAndUpdate(i, count -> count >>> 1);
+        }
+        additions.set(0);
+    }
+
+    private int index(long key, long seed) {
+        long h = (key ^ seed) * 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        return (int) h & mask;
+    }
+}
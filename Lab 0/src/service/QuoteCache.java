@@ -0,0 +1,140 @@
+package service;
+
+import models.VehicleType;
+import pricing.PricingEngine;
+
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+// Bounded cache of rental quotes keyed by vehicle type, start day and number of days.
+// Entries live in small 8-way sets and are looked up without locks. When a set is full a
+// new quote only replaces the least popular entry if it has been asked for more often
+// (TinyLFU admission), so a burst of one-off quotes can't push out the hot ones.
+// Entries remember the pricing version they were computed with and the cache is cleared
+// whenever the engine refreshes, so a quote never outlives the prices it came from.
+// Close the cache when it is no longer used, so the engine stops notifying it.
+public class QuoteCache implements AutoCloseable {
+    private static final int WAYS = 8;
+    private static final int MAX_CACHED_DAYS = 0xFFFF;
+
+    private final PricingEngine engine;
+    private final AtomicReferenceArray<Entry> entries;
+    private final int setMask;
+    private final FrequencySketch sketch;
+    private final Runnable clearOnRefresh = this::clear;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder rejections = new LongAdder();
+
+    private static final class Entry {
+        final long key;
+        final long version;
+        final long priceCents;
+
+        Entry(long key, long version, long priceCents) {
+            this.key = key;
+            this.version = version;
+            this.priceCents = priceCents;
+        }
+    }
+
+    public QuoteCache(PricingEngine engine, int capacity) {
+        int sets = Integer.highestOneBit(Math.max(1, (capacity + WAYS - 1) / WAYS - 1)) << 1;
+        this.engine = engine;
+        this.entries = new AtomicReferenceArray<>(sets * WAYS);
+        this.setMask = sets - 1;
+        this.sketch = new FrequencySketch(sets * WAYS);
+        engine.addRefreshListener(clearOnRefresh);
+    }
+
+    public double quote(VehicleType type, LocalDate start, int days) {
+        return quoteCents(type, start, days) / 100.0;
+    }
+
+    public long quoteCents(VehicleType type, LocalDate start, int days) {
+        if (days < 0 || days > MAX_CACHED_DAYS) {
+            misses.increment();
+            return engine.quoteCents(type, start, days);
+        }
+        long key = key(type, start, days);
+        sketch.increment(key);
+        long version = engine.getVersion();
+        int base = setIndex(key) * WAYS;
+        for (int i = base; i < base + WAYS; i++) {
+            Entry entry = entries.get(i);
+            if (entry != null && entry.key == key && entry.version == version) {
+                hits.increment();
+                return entry.priceCents;
+            }
+        }
+
+        misses.increment();
+        long priceCents = engine.quoteCents(type, start, days);
+        admit(new Entry(key, version, priceCents), base);
+        return priceCents;
+    }
+
+    // Takes a free or stale way if there is one, otherwise competes with the least popular entry
+    private void admit(Entry candidate, int base) {
+        int victim = -1;
+        int victimFrequency = Integer.MAX_VALUE;
+        for (int i = base; i < base + WAYS; i++) {
+            Entry entry = entries.get(i);
+            if (entry == null || entry.version != candidate.version || entry.key == candidate.key) {
+                if (entries.compareAndSet(i, entry, candidate)) {
+                    return;
+                }
+                continue;
+            }
+            int frequency = sketch.frequency(entry.key);
+            if (frequency < victimFrequency) {
+                victim = i;
+                victimFrequency = frequency;
+            }
+        }
+        if (victim < 0 || sketch.frequency(candidate.key) <= victimFrequency) {
+            rejections.increment();
+            return;
+        }
+        Entry current = entries.get(victim);
+        if (current != null && entries.compareAndSet(victim, current, candidate)) {
+            evictions.increment();
+        }
+    }
+
+    public void clear() {
+        for (int i = 0; i < entries.length(); i++) {
+            entries.set(i, null);
+        }
+    }
+
+    // Detaches the cache from the engine
+    @Override
+    public void close() {
+        engine.removeRefreshListener(clearOnRefresh);
+    }
+
+    public long getHits() { return hits.sum(); }
+    public long getMisses() { return misses.sum(); }
+    public long getEvictions() { return evictions.sum(); }
+    public long getRejections() { return rejections.sum(); }
+
+    public double getHitRate() {
+        long h = hits.sum();
+        long total = h + misses.sum();
+        return total == 0 ? 0.0 : (double) h / total;
+    }
+
+    private int setIndex(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & setMask;
+    }
+
+    // type in the top byte, days in the next 16 bits, start day in the low 40 bits
+    private static long key(VehicleType type, LocalDate start, int days) {
+        return ((long) type.ordinal() << 56) | ((long) days << 40) | (start.toEpochDay() & 0xFF_FFFF_FFFFL);
+    }
+}
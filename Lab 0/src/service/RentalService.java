@@ -1,22 +1,74 @@
 package service;
 
 import models.Vehicle;
+import metrics.RentalMetrics;
+import models.VehicleType;
+import pricing.PricingEngine;
 import repository.IVehicleRepository;
 
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+
 // SRP: This class only handles rental operations
-public class RentalService {
+public class RentalService implements AutoCloseable {
     private IVehicleRepository repository;
+    private QuoteCache quotes;
+    private RentalMetrics metrics;
+    private boolean ownsQuotes;
 
     // DIP: Depends on interface, not concrete implementation
-    public RentalService(IVehicleRepository repository) {
+    public RentalService(IVehicleRepository repository, QuoteCache quotes, RentalMetrics metrics) {
         this.repository = repository;
+        this.quotes = quotes;
+        this.metrics = metrics;
+    }
+
+    public RentalService(IVehicleRepository repository) {
+        this(repository, new QuoteCache(PricingEngine.getInstance(), 4096), new RentalMetrics());
+        this.ownsQuotes = true;
+    }
+
+    // Releases the quote cache this service created (a cache passed in belongs to the caller)
+    @Override
+    public void close() {
+        if (ownsQuotes) {
+            quotes.close();
+        }
+    }
+
+    // Price of renting any vehicle of this type; answered from the cache without the repository
+    public double quote(VehicleType type, LocalDate start, int days) {
+        return quotes.quote(type, start, days);
     }
 
+    public QuoteCache getQuoteCache() {
+        return quotes;
+    }
+
+    public RentalMetrics getMetrics() {
+        return metrics;
+    }
+
+    // Safe to call concurrently: the reservation is atomic, so a vehicle is rented at most once
     public boolean rentVehicle(String vehicleId, int days) {
-        Vehicle vehicle = repository.getVehicleById(vehicleId);
-        if (vehicle != null && vehicle.isAvailable()) {
-            vehicle.setAvailable(false);
-            double cost = vehicle.calculateRentalCost(days);
+        long start = System.nanoTime();
+        if (days < 0) {
+            metrics.rentRejected(System.nanoTime() - start);
+            System.out.println("Invalid rental period: " + days + " days!");
+            return false;
+        }
+        Vehicle vehicle = repository.reserveVehicle(vehicleId);
+        if (vehicle != null) {
+            double cost;
+            try {
+                cost = quotes.quote(vehicle.getType(), LocalDate.now(), days);
+            } catch (RuntimeException e) {
+                // Never keep a vehicle reserved for a rental that could not be priced
+                repository.releaseVehicle(vehicleId);
+                metrics.rentRejected(System.nanoTime() - start);
+                throw e;
+            }
+            metrics.rented(vehicleId, System.nanoTime() - start);
             System.out.println("\n=== RENTAL SUCCESSFUL ===");
             System.out.println("Vehicle: " + vehicle.getBrand());
             System.out.println("ID: " + vehicleId);
@@ -25,20 +77,69 @@ public class RentalService {
             System.out.println("========================\n");
             return true;
         }
+        metrics.rentRejected(System.nanoTime() - start);
         System.out.println("Vehicle not available!");
         return false;
     }
 
     public boolean returnVehicle(String vehicleId) {
-        Vehicle vehicle = repository.getVehicleById(vehicleId);
-        if (vehicle != null && !vehicle.isAvailable()) {
-            vehicle.setAvailable(true);
+        long start = System.nanoTime();
+        boolean returned = repository.releaseVehicle(vehicleId);
+        metrics.returned(returned, System.nanoTime() - start);
+        if (returned) {
             System.out.println("Vehicle " + vehicleId + " returned successfully!");
             return true;
         }
         return false;
     }
 
+    // Books the vehicle for the days in [from, to), e.g. Friday to Monday is three days
+    public boolean bookVehicle(String vehicleId, LocalDate from, LocalDate to) {
+        if (from.isBefore(LocalDate.now())) {
+            System.out.println("Cannot book from " + from + ": that date has passed!");
+            return false;
+        }
+        Vehicle vehicle = repository.getVehicleById(vehicleId);
+        if (vehicle != null && repository.bookVehicle(vehicleId, from, to)) {
+            int days = (int) ChronoUnit.DAYS.between(from, to);
+            double cost = quotes.quote(vehicle.getType(), from, days);
+            System.out.println("\n=== BOOKING CONFIRMED ===");
+            System.out.println("Vehicle: " + vehicle.getBrand());
+            System.out.println("ID: " + vehicleId);
+            System.out.println("From: " + from + " To: " + to);
+            System.out.printf("Total Cost: $%.2f\n", cost);
+            System.out.println("=========================\n");
+            return true;
+        }
+        System.out.println("Vehicle not free for " + from + " - " + to + "!");
+        return false;
+    }
+
+    public boolean cancelBooking(String vehicleId, LocalDate from, LocalDate to) {
+        if (repository.cancelBooking(vehicleId, from, to)) {
+            System.out.println("Booking of " + vehicleId + " for " + from + " - " + to + " cancelled.");
+            return true;
+        }
+        return false;
+    }
+
+    public void showVehiclesFreeBetween(LocalDate from, LocalDate to) {
+        System.out.println("\n=== FREE FROM " + from + " TO " + to + " ===");
+        for (Vehicle v : repository.findVehiclesFreeBetween(from, to)) {
+            System.out.println(v.getId() + " - " + v.getBrand());
+        }
+        System.out.println("==========================\n");
+    }
+
+    public void showNearestVehicles(double latitude, double longitude, int count) {
+        System.out.println("\n=== NEAREST AVAILABLE VEHICLES ===");
+        for (Vehicle v : repository.findNearestAvailable(latitude, longitude, count)) {
+            double meters = v.getLocation().distanceMeters(latitude, longitude);
+            System.out.printf("%s - %s (%.0f m)\n", v.getId(), v.getBrand(), meters);
+        }
+        System.out.println("==================================\n");
+    }
+
     public void showAvailableVehicles() {
         System.out.println("\n=== AVAILABLE VEHICLES ===");
         for (Vehicle v : repository.getAvailableVehicles()) {
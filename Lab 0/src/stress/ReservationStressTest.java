@@ -0,0 +1,131 @@
+package stress;
+
+import models.Car;
+import models.Motorcycle;
+import repository.ConcurrentVehicleRepository;
+import repository.IVehicleRepository;
+import repository.VehicleRepository;
+import service.RentalService;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReference;
+
+// Race harness for the rental path. Run with: java stress.ReservationStressTest [threads] [rounds] [vehicles]
+// Every round all threads go after the same vehicle ids at once, half of them through
+// IVehicleRepository.reserveVehicle and half through RentalService.rentVehicle, and each id
+// must be rented exactly once. The fleet is then released and reserved again to check that
+// a returned vehicle can be rented once more. Exits with status 1 on the first violation.
+public class ReservationStressTest {
+
+    public static void main(String[] args) throws InterruptedException {
+        int threads = args.length > 0 ? Integer.parseInt(args[0]) : Math.max(8, Runtime.getRuntime().availableProcessors() * 2);
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+        int vehicles = args.length > 2 ? Integer.parseInt(args[2]) : 100;
+
+        PrintStream console = System.out;
+        // The service prints a receipt per rental; keep the harness output readable
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        try {
+            run("ConcurrentVehicleRepository", new ConcurrentVehicleRepository(), threads, rounds, vehicles, console);
+            run("VehicleRepository", new VehicleRepository(), threads, rounds, vehicles, console);
+        } catch (AssertionError e) {
+            System.setOut(console);
+            System.err.println("FAILED: " + e.getMessage());
+            System.exit(1);
+        }
+        System.setOut(console);
+    }
+
+    private static void run(String name, IVehicleRepository repository, int threads, int rounds,
+                            int vehicles, PrintStream console) throws InterruptedException {
+        String[] ids = new String[vehicles];
+        for (int i = 0; i < vehicles; i++) {
+            ids[i] = (i % 2 == 0 ? "C" : "M") + i;
+            repository.addVehicle(i % 2 == 0 ? new Car(ids[i], "Brand") : new Motorcycle(ids[i], "Brand"));
+        }
+        RentalService service = new RentalService(repository);
+
+        long start = System.nanoTime();
+        for (int round = 0; round < rounds; round++) {
+            AtomicIntegerArray wins = new AtomicIntegerArray(vehicles);
+            race(threads, worker -> {
+                // Threads start at different offsets so they collide on every id, not just the first
+                for (int n = 0; n < vehicles; n++) {
+                    int i = (n + worker * 7) % vehicles;
+                    boolean rented = worker % 2 == 0
+                            ? repository.reserveVehicle(ids[i]) != null
+                            : service.rentVehicle(ids[i], 1);
+                    if (rented) {
+                        wins.incrementAndGet(i);
+                    }
+                }
+            });
+            for (int i = 0; i < vehicles; i++) {
+                check(wins.get(i) == 1, name + ": round " + round + ", " + ids[i] + " rented " + wins.get(i) + " times");
+            }
+            check(repository.countAvailableVehicles() == 0,
+                    name + ": round " + round + ", " + repository.countAvailableVehicles() + " vehicles still available");
+
+            // Returns race too: exactly one release per vehicle may succeed
+            AtomicIntegerArray releases = new AtomicIntegerArray(vehicles);
+            race(threads, worker -> {
+                for (int i = 0; i < vehicles; i++) {
+                    if (repository.releaseVehicle(ids[i])) {
+                        releases.incrementAndGet(i);
+                    }
+                }
+            });
+            for (int i = 0; i < vehicles; i++) {
+                check(releases.get(i) == 1, name + ": round " + round + ", " + ids[i] + " released " + releases.get(i) + " times");
+            }
+
+            // A released vehicle can be reserved again, once
+            String id = ids[round % vehicles];
+            check(repository.reserveVehicle(id) != null, name + ": " + id + " could not be reserved after release");
+            check(repository.reserveVehicle(id) == null, name + ": " + id + " reserved twice");
+            check(repository.releaseVehicle(id), name + ": " + id + " could not be released");
+        }
+        service.close();
+        console.printf("%-30s %d threads x %d rounds x %d vehicles: OK (%d ms)%n",
+                name, threads, rounds, vehicles, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private interface Worker {
+        void run(int worker);
+    }
+
+    // Starts all workers at the same moment and waits for them; rethrows the first failure
+    private static void race(int threads, Worker body) throws InterruptedException {
+        CountDownLatch go = new CountDownLatch(1);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            int worker = t;
+            workers[t] = new Thread(() -> {
+                try {
+                    go.await();
+                    body.run(worker);
+                } catch (Throwable e) {
+                    failure.compareAndSet(null, e);
+                }
+            });
+            workers[t].start();
+        }
+        go.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        if (failure.get() != null) {
+            throw new AssertionError("worker failed: " + failure.get(), failure.get());
+        }
+    }
+
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new AssertionError(message);
+        }
+    }
+}
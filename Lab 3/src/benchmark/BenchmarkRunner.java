@@ -0,0 +1,100 @@
+package benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Minimal JMH-style harness: timed warmup iterations followed by measured iterations,
+// run on one or more threads, reporting throughput in operations per second.
+public class BenchmarkRunner {
+
+    // One benchmarked operation; the returned value is consumed so the JIT cannot drop the work
+    public interface Operation {
+        long run();
+    }
+
+    private final int warmupIterations;
+    private final int measurementIterations;
+    private final long iterationMillis;
+
+    // Results are folded into this field so no benchmark result is ever dead code
+    private volatile long blackhole;
+
+    public BenchmarkRunner(int warmupIterations, int measurementIterations, long iterationMillis) {
+        this.warmupIterations = warmupIterations;
+        this.measurementIterations = measurementIterations;
+        this.iterationMillis = iterationMillis;
+    }
+
+    public BenchmarkRunner() {
+        this(3, 5, 500);
+    }
+
+    // Runs the operation and prints the average throughput and its spread across iterations
+    public double run(String name, int threads, Operation operation) throws InterruptedException {
+        for (int i = 0; i < warmupIterations; i++) {
+            iteration(threads, operation);
+        }
+        List<Double> results = new ArrayList<>();
+        for (int i = 0; i < measurementIterations; i++) {
+            results.add(iteration(threads, operation));
+        }
+
+        double sum = 0;
+        double min = Double.MAX_VALUE;
+        double max = 0;
+        for (double result : results) {
+            sum += result;
+            min = Math.min(min, result);
+            max = Math.max(max, result);
+        }
+        double average = sum / results.size();
+        System.err.printf("%-55s %3d thr %,18.0f ops/s  (min %,.0f, max %,.0f)%n",
+                name, threads, average, min, max);
+        return average;
+    }
+
+    private double iteration(int threads, Operation operation) throws InterruptedException {
+        AtomicBoolean running = new AtomicBoolean(true);
+        CountDownLatch start = new CountDownLatch(1);
+        long[] counts = new long[threads];
+        long[] sinks = new long[threads];
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            int index = t;
+            workers[t] = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                long count = 0;
+                long sink = 0;
+                while (running.get()) {
+                    sink += operation.run();
+                    count++;
+                }
+                counts[index] = count;
+                sinks[index] = sink;
+            });
+            workers[t].start();
+        }
+
+        long begin = System.nanoTime();
+        start.countDown();
+        Thread.sleep(iterationMillis);
+        running.set(false);
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        long elapsed = System.nanoTime() - begin;
+
+        long total = 0;
+        for (int t = 0; t < threads; t++) {
+            total += counts[t];
+            blackhole += sinks[t];
+        }
+        return total * 1_000_000_000.0 / elapsed;
+    }
+}
@@ -0,0 +1,136 @@
+package benchmark;
+
+import domain.builder.BurgerBuilder;
+import domain.catalog.MenuCatalog;
+import domain.command.OrderMealCommand;
+import domain.command.Waiter;
+import domain.composite.MealCombo;
+import domain.composite.MealComponent;
+import domain.decorator.BaconDecorator;
+import domain.decorator.ExtraCheeseDecorator;
+import domain.factories.AmericanMealFactory;
+import domain.factories.ItalianMealFactory;
+import domain.factories.MealFactory;
+import domain.models.Burger;
+import domain.models.Pizza;
+import domain.models.Salad;
+import utilities.RestaurantOrderSystem;
+import utilities.logging.EventLog;
+import utilities.logging.NoOpEventSink;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+// Baseline benchmarks for the order hot paths. Run with: java benchmark.RestaurantBenchmarks [threads]
+// Results are printed on stderr; the system's own log output is discarded while measuring.
+public class RestaurantBenchmarks {
+
+    public static void main(String[] args) throws InterruptedException, IOException {
+        int threads = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+        EventLog.setSink(new NoOpEventSink());
+        runAll(new BenchmarkRunner(), threads);
+    }
+
+    private static void runAll(BenchmarkRunner runner, int threads) throws InterruptedException, IOException {
+        Pizza pizza = new Pizza();
+
+        // Order placement, on a throwaway system so the shared one's history does not keep growing
+        Path scratch = Files.createTempDirectory("order-benchmark");
+        RestaurantOrderSystem system = RestaurantOrderSystem.create(scratch);
+        try {
+            runner.run("placeOrder", 1, () -> {
+                system.placeOrder(pizza);
+                return 1;
+            });
+            runner.run("placeOrder", threads, () -> {
+                system.placeOrder(pizza);
+                return 1;
+            });
+        } finally {
+            system.close();
+            deleteRecursively(scratch);
+        }
+
+        // Combo pricing over growing trees
+        for (int size : new int[] {10, 1_000, 100_000}) {
+            MealCombo combo = comboOf(size);
+            runner.run("MealCombo.getPriceCents (" + size + " leaves)", 1, combo::getPriceCents);
+            runner.run("MealCombo.getPriceCents (" + size + " leaves)", threads, combo::getPriceCents);
+        }
+        runner.run("MealCombo build + price (1000 leaves)", 1, () -> comboOf(1_000).getPriceCents());
+
+        // Decorator chains: repeated reads, and a fresh chain per read
+        for (int depth : new int[] {1, 8, 15}) {
+            MealComponent chain = decoratorChain(depth);
+            runner.run("decorator getPriceCents (depth " + depth + ")", 1, chain::getPriceCents);
+            runner.run("decorator getName (depth " + depth + ")", 1, () -> chain.getName().length());
+            runner.run("decorator new chain + getName (depth " + depth + ")", 1,
+                    () -> decoratorChain(depth).getName().length());
+        }
+
+        // Waiter flushes
+        for (int commands : new int[] {1, 10, 100}) {
+            runner.run("Waiter.sendOrdersToKitchen (" + commands + " commands)", 1, () -> {
+                Waiter waiter = new Waiter();
+                for (int i = 0; i < commands; i++) {
+                    waiter.takeOrder(new OrderMealCommand(pizza));
+                }
+                waiter.sendOrdersToKitchen();
+                return commands;
+            });
+        }
+
+        // Creation rates
+        MealFactory italian = new ItalianMealFactory("pizza");
+        MealFactory american = new AmericanMealFactory();
+        runner.run("ItalianMealFactory.createMeal", 1, () -> italian.createMeal().getPriceCents());
+        runner.run("AmericanMealFactory.createMeal", threads, () -> american.createMeal().getPriceCents());
+        runner.run("MenuCatalog.standard", threads, () -> MenuCatalog.standard(MenuCatalog.BURGER).getPriceCents());
+        runner.run("BurgerBuilder.build", 1, () -> new BurgerBuilder()
+                .setBase("Brioche")
+                .addProtein("Beef")
+                .addToppings("Pickles")
+                .addSauce("Special Sauce")
+                .build()
+                .getPriceCents());
+        runner.run("BurgerBuilder.pooled().build", 1, () -> BurgerBuilder.pooled()
+                .setBase("Brioche")
+                .addProtein("Beef")
+                .addToppings("Pickles")
+                .addSauce("Special Sauce")
+                .build()
+                .getPriceCents());
+    }
+
+    private static void deleteRecursively(Path directory) throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    private static MealCombo comboOf(int leaves) {
+        MealCombo combo = new MealCombo("Platter", 10.0);
+        MealCombo group = null;
+        for (int i = 0; i < leaves; i++) {
+            if (i % 100 == 0) {
+                group = new MealCombo("Tray " + i / 100, 5.0);
+                combo.add(group);
+            }
+            group.add(i % 2 == 0 ? new Burger() : new Salad());
+        }
+        return combo;
+    }
+
+    private static MealComponent decoratorChain(int depth) {
+        MealComponent meal = new Burger();
+        for (int i = 0; i < depth; i++) {
+            meal = i % 2 == 0 ? new ExtraCheeseDecorator(meal) : new BaconDecorator(meal);
+        }
+        return meal;
+    }
+}
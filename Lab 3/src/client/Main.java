@@ -13,7 +13,9 @@ import domain.factories.MealFactory;
 import domain.models.Meal;
 import domain.observer.KitchenDisplay;
 import domain.strategy.CardPayment;
+import utilities.Money;
 import utilities.RestaurantOrderSystem;
+import utilities.logging.EventLog;
 
 public class Main {
     public static void main(String[] args) {
@@ -24,14 +26,14 @@ public class Main {
 
         // 1. OBSERVER PATTERN
         // Register the Kitchen Display to listen for new orders
-        System.out.println("[Setup] Connecting Kitchen Display to Order System...");
+        EventLog.log("[Setup] Connecting Kitchen Display to Order System...");
         system.attach(new KitchenDisplay());
 
         // 2. COMMAND PATTERN
         // The waiter takes orders (Invoker) but doesn't send them immediately
         Waiter waiter = new Waiter();
 
-        System.out.println("\n--- Customer 1: Placing Order via Command ---");
+        EventLog.log("\n--- Customer 1: Placing Order via Command ---");
         MealFactory italianFactory = new ItalianMealFactory("pizza");
         Meal pizza = italianFactory.createMeal();
 
@@ -39,7 +41,7 @@ public class Main {
         Command order1 = new OrderMealCommand(pizza);
         waiter.takeOrder(order1);
 
-        System.out.println("\n--- Customer 2: Placing Custom Order via Command ---");
+        EventLog.log("\n--- Customer 2: Placing Custom Order via Command ---");
         MealFactory americanFactory = new AmericanMealFactory();
         Meal burger = americanFactory.createMeal();
 
@@ -57,13 +59,13 @@ public class Main {
         // 4. EXISTING FACADE USAGE
         // You can still use the Facade. Because the system is a Singleton,
         // the Observer (Kitchen) will still catch these orders too!
-        System.out.println("\n--- Customer 3: Using Facade (Direct) ---");
+        EventLog.log("\n--- Customer 3: Using Facade (Direct) ---");
         facade.orderFamilyCombo();
 
         // 5. STRATEGY PATTERN
         // Display totals
         system.displayOrderHistory();
-        System.out.println("Total Revenue to Collect: $" + String.format("%.2f", system.getTotalRevenue()));
+        EventLog.log("Total Revenue to Collect: $" + Money.format(system.getTotalRevenueCents()));
 
         // Pay with Card (Strategy 1)
         // Ensure your CardPayment class has the constructor: public CardPayment(String num, String name)
@@ -0,0 +1,91 @@
+package domain.builder;
+
+import domain.models.Customization;
+import domain.models.Meal;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+// Collects the choices and only creates the meal in build(), so one builder instance
+// can be reset and reused across orders (see the pooled() method of each builder).
+// The built meal is read-only, so meals are interned by (item id, Customization) the same
+// way Customization itself is: a repeated custom order gets the meal built for the last one.
+public abstract class AbstractMealBuilder implements MealBuilder {
+    private static final int CACHE_SIZE = 1024;
+    private static final AtomicReferenceArray<Meal> CACHE = new AtomicReferenceArray<>(CACHE_SIZE);
+
+    private String base;
+    private String protein;
+    private String vegetables;
+    private String sauce;
+    private String toppings;
+    private String sides;
+
+    protected abstract Meal newMeal();
+
+    // MenuCatalog id of the meals newMeal() creates
+    protected abstract int itemId();
+
+    @Override
+    public MealBuilder setBase(String base) {
+        this.base = base;
+        return this;
+    }
+
+    @Override
+    public MealBuilder addProtein(String protein) {
+        this.protein = protein;
+        return this;
+    }
+
+    @Override
+    public MealBuilder addVegetables(String vegetables) {
+        this.vegetables = vegetables;
+        return this;
+    }
+
+    @Override
+    public MealBuilder addSauce(String sauce) {
+        this.sauce = sauce;
+        return this;
+    }
+
+    @Override
+    public MealBuilder addToppings(String toppings) {
+        this.toppings = toppings;
+        return this;
+    }
+
+    @Override
+    public MealBuilder addSides(String sides) {
+        this.sides = sides;
+        return this;
+    }
+
+    @Override
+    public Meal build() {
+        Customization customization = Customization.of(base, protein, vegetables, sauce, toppings, sides);
+        int itemId = itemId();
+        int hash = 31 * itemId + customization.hashCode();
+        int slot = (hash ^ (hash >>> 16)) & (CACHE_SIZE - 1);
+        Meal cached = CACHE.get(slot);
+        if (cached != null && cached.getItemId() == itemId && cached.getCustomization().equals(customization)) {
+            return cached;
+        }
+        Meal meal = newMeal();
+        meal.customize(customization);
+        meal.freeze();
+        CACHE.set(slot, meal);
+        return meal;
+    }
+
+    @Override
+    public MealBuilder reset() {
+        base = null;
+        protein = null;
+        vegetables = null;
+        sauce = null;
+        toppings = null;
+        sides = null;
+        return this;
+    }
+}
@@ -1,54 +1,27 @@
 package domain.builder;
 
+import domain.catalog.MenuCatalog;
 import domain.models.Burger;
 import domain.models.Meal;
 
-public class BurgerBuilder implements MealBuilder {
+public class BurgerBuilder extends AbstractMealBuilder {
 
-    private Burger burger;
+    // One reusable builder per thread; do not hold on to it across orders
+    private static final ThreadLocal<BurgerBuilder> POOL = ThreadLocal.withInitial(BurgerBuilder::new);
 
-    public BurgerBuilder() {
-        this.burger = new Burger();
+    public static BurgerBuilder pooled() {
+        BurgerBuilder builder = POOL.get();
+        builder.reset();
+        return builder;
     }
 
     @Override
-    public MealBuilder setBase(String base) {
-        burger.setBase(base);
-        return this;
+    protected Meal newMeal() {
+        return new Burger();
     }
 
     @Override
-    public MealBuilder addProtein(String protein) {
-        burger.setProtein(protein);
-        return this;
-    }
-
-    @Override
-    public MealBuilder addVegetables(String vegetables) {
-        burger.setVegetables(vegetables);
-        return this;
-    }
-
-    @Override
-    public MealBuilder addSauce(String sauce) {
-        burger.setSauce(sauce);
-        return this;
-    }
-
-    @Override
-    public MealBuilder addToppings(String toppings) {
-        burger.setToppings(toppings);
-        return this;
-    }
-
-    @Override
-    public MealBuilder addSides(String sides) {
-        burger.setSides(sides);
-        return this;
-    }
-
-    @Override
-    public Meal build() {
-        return burger;
+    protected int itemId() {
+        return MenuCatalog.BURGER;
     }
 }
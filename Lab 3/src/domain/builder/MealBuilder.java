@@ -10,4 +10,7 @@ public interface MealBuilder {
     MealBuilder addToppings(String toppings);
     MealBuilder addSides(String sides);
     Meal build();
+
+    // Clears all choices so the builder can be reused for the next order
+    MealBuilder reset();
 }
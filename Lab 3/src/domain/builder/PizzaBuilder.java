@@ -1,54 +1,27 @@
 package domain.builder;
 
+import domain.catalog.MenuCatalog;
 import domain.models.Meal;
 import domain.models.Pizza;
 
-public class PizzaBuilder implements MealBuilder {
+public class PizzaBuilder extends AbstractMealBuilder {
 
-    private Pizza pizza;
+    // One reusable builder per thread; do not hold on to it across orders
+    private static final ThreadLocal<PizzaBuilder> POOL = ThreadLocal.withInitial(PizzaBuilder::new);
 
-    public PizzaBuilder() {
-        this.pizza = new Pizza();
+    public static PizzaBuilder pooled() {
+        PizzaBuilder builder = POOL.get();
+        builder.reset();
+        return builder;
     }
 
     @Override
-    public MealBuilder setBase(String base) {
-        pizza.setBase(base);
-        return this;
+    protected Meal newMeal() {
+        return new Pizza();
     }
 
     @Override
-    public MealBuilder addProtein(String protein) {
-        pizza.setProtein(protein);
-        return this;
-    }
-
-    @Override
-    public MealBuilder addVegetables(String vegetables) {
-        pizza.setVegetables(vegetables);
-        return this;
-    }
-
-    @Override
-    public MealBuilder addSauce(String sauce) {
-        pizza.setSauce(sauce);
-        return this;
-    }
-
-    @Override
-    public MealBuilder addToppings(String toppings) {
-        pizza.setToppings(toppings);
-        return this;
-    }
-
-    @Override
-    public MealBuilder addSides(String sides) {
-        pizza.setSides(sides);
-        return this;
-    }
-
-    @Override
-    public Meal build() {
-        return pizza;
+    protected int itemId() {
+        return MenuCatalog.PIZZA;
     }
 }
@@ -1,54 +1,27 @@
 package domain.builder;
 
+import domain.catalog.MenuCatalog;
 import domain.models.Meal;
 import domain.models.Salad;
 
-public class SaladBuilder implements MealBuilder {
+public class SaladBuilder extends AbstractMealBuilder {
 
-    private Salad salad;
+    // One reusable builder per thread; do not hold on to it across orders
+    private static final ThreadLocal<SaladBuilder> POOL = ThreadLocal.withInitial(SaladBuilder::new);
 
-    public SaladBuilder() {
-        this.salad = new Salad();
+    public static SaladBuilder pooled() {
+        SaladBuilder builder = POOL.get();
+        builder.reset();
+        return builder;
     }
 
     @Override
-    public MealBuilder setBase(String base) {
-        salad.setBase(base);
-        return this;
+    protected Meal newMeal() {
+        return new Salad();
     }
 
     @Override
-    public MealBuilder addProtein(String protein) {
-        salad.setProtein(protein);
-        return this;
-    }
-
-    @Override
-    public MealBuilder addVegetables(String vegetables) {
-        salad.setVegetables(vegetables);
-        return this;
-    }
-
-    @Override
-    public MealBuilder addSauce(String sauce) {
-        salad.setSauce(sauce);
-        return this;
-    }
-
-    @Override
-    public MealBuilder addToppings(String toppings) {
-        salad.setToppings(toppings);
-        return this;
-    }
-
-    @Override
-    public MealBuilder addSides(String sides) {
-        salad.setSides(sides);
-        return this;
-    }
-
-    @Override
-    public Meal build() {
-        return salad;
+    protected int itemId() {
+        return MenuCatalog.SALAD;
     }
 }
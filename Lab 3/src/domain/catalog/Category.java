@@ -0,0 +1,8 @@
+package domain.catalog;
+
+public enum Category {
+    ITALIAN,
+    AMERICAN,
+    HEALTHY,
+    COMBO
+}
@@ -0,0 +1,44 @@
+package domain.catalog;
+
+import domain.models.Burger;
+import domain.models.Meal;
+import domain.models.Pasta;
+import domain.models.Pizza;
+import domain.models.Salad;
+
+// FLYWEIGHT PATTERN: Standard menu items are created once and shared by every order.
+// Each item has a compact id; anything that varies per order (extras, discounts) lives
+// in decorators around the shared item.
+public final class MenuCatalog {
+    public static final int PIZZA = 0;
+    public static final int PASTA = 1;
+    public static final int BURGER = 2;
+    public static final int SALAD = 3;
+    public static final int COMBO = 4;
+    public static final int ITEM_COUNT = 5;
+
+    private static final Category[] CATEGORIES = {
+            Category.ITALIAN, Category.ITALIAN, Category.AMERICAN, Category.HEALTHY, Category.COMBO
+    };
+
+    // Combos are assembled per order, so they have no standard instance
+    private static final Meal[] STANDARD_ITEMS = {
+            new Pizza().freeze(), new Pasta().freeze(), new Burger().freeze(), new Salad().freeze(), null
+    };
+
+    private MenuCatalog() {
+    }
+
+    // The shared, read-only instance of a standard item
+    public static Meal standard(int itemId) {
+        Meal item = STANDARD_ITEMS[itemId];
+        if (item == null) {
+            throw new IllegalArgumentException("No standard item with id " + itemId);
+        }
+        return item;
+    }
+
+    public static Category categoryOf(int itemId) {
+        return CATEGORIES[itemId];
+    }
+}
@@ -0,0 +1,26 @@
+package domain.command;
+
+import domain.composite.MealComponent;
+import utilities.RestaurantOrderSystem;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// COMMAND PATTERN: Places many meals as a single batch, so the order system
+// assigns numbers, updates totals and notifies observers once per batch
+public class BatchCommand implements Command {
+    private List<MealComponent> meals = new ArrayList<>();
+
+    public void add(MealComponent meal) {
+        meals.add(meal);
+    }
+
+    public int size() {
+        return meals.size();
+    }
+
+    @Override
+    public void execute() {
+        RestaurantOrderSystem.getInstance().placeOrders(meals);
+    }
+}
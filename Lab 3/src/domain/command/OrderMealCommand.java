@@ -9,6 +9,10 @@ public class OrderMealCommand implements Command {
         this.meal = meal;
     }
 
+    public MealComponent getMeal() {
+        return meal;
+    }
+
     @Override
     public void execute() {
         RestaurantOrderSystem.getInstance().placeOrder(meal);
@@ -1,5 +1,7 @@
 package domain.command;
 
+import utilities.logging.EventLog;
+
 import java.util.ArrayList;
 import java.util.List;
 
@@ -7,14 +9,27 @@ public class Waiter {
     private List<Command> orderPad = new ArrayList<>();
 
     public void takeOrder(Command command) {
-        System.out.println("Waiter notes down the order...");
+        EventLog.log("Waiter notes down the order...");
         orderPad.add(command);
     }
 
     public void sendOrdersToKitchen() {
-        System.out.println("\nWaiter sends all orders to kitchen:");
+        EventLog.log("\nWaiter sends all orders to kitchen:");
+        // Consecutive meal orders are grouped and sent as one batch; other commands run in between
+        BatchCommand batch = new BatchCommand();
         for (Command command : orderPad) {
-            command.execute();
+            if (command instanceof OrderMealCommand) {
+                batch.add(((OrderMealCommand) command).getMeal());
+            } else {
+                if (batch.size() > 0) {
+                    batch.execute();
+                    batch = new BatchCommand();
+                }
+                command.execute();
+            }
+        }
+        if (batch.size() > 0) {
+            batch.execute();
         }
         orderPad.clear();
     }
@@ -0,0 +1,40 @@
+package domain.composite;
+
+import java.util.List;
+import java.util.concurrent.RecursiveAction;
+
+// Prepares the items of a large combo on the fork/join pool (MealCombo.prepareParallel). The range
+// is split in half until it is small enough to prepare in one go; a nested combo goes through
+// prepareParallel on the same pool, which splits its own items the same way.
+// Items of one combo may be prepared in any order.
+class ComboPreparationTask extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+    static final int THRESHOLD = 16;
+
+    private final List<MealComponent> items;
+    private final int from;
+    private final int to;
+
+    ComboPreparationTask(List<MealComponent> items, int from, int to) {
+        this.items = items;
+        this.from = from;
+        this.to = to;
+    }
+
+    @Override
+    protected void compute() {
+        if (to - from <= THRESHOLD) {
+            for (int i = from; i < to; i++) {
+                MealComponent item = items.get(i);
+                if (item instanceof MealCombo) {
+                    ((MealCombo) item).prepareParallel(getPool());
+                } else {
+                    item.prepare();
+                }
+            }
+            return;
+        }
+        int middle = (from + to) >>> 1;
+        invokeAll(new ComboPreparationTask(items, from, middle), new ComboPreparationTask(items, middle, to));
+    }
+}
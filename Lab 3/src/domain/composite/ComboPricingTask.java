@@ -0,0 +1,65 @@
+package domain.composite;
+
+import utilities.Money;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RecursiveTask;
+
+// Recomputes the price of a combo from scratch on the fork/join pool.
+// A long run of items is split in half and every nested combo is forked as a task of its own,
+// so a deep tree is spread over the pool however few items sit on each level. Prices are
+// whole cents, so the result is identical to the sequential sum.
+class ComboPricingTask extends RecursiveTask<Long> {
+    private static final long serialVersionUID = 1L;
+    static final int THRESHOLD = 512;
+
+    private final List<MealComponent> items;
+    private final int from;
+    private final int to;
+    private final double discount;
+    private final boolean wholeCombo;
+
+    // Discounted price of the whole combo
+    ComboPricingTask(MealCombo combo) {
+        this(combo.getItems(), 0, combo.getItems().size(), combo.getDiscount(), true);
+    }
+
+    // Subtotal of the items in [from, to), before any discount
+    private ComboPricingTask(List<MealComponent> items, int from, int to, double discount, boolean wholeCombo) {
+        this.items = items;
+        this.from = from;
+        this.to = to;
+        this.discount = discount;
+        this.wholeCombo = wholeCombo;
+    }
+
+    @Override
+    protected Long compute() {
+        long subtotal;
+        if (to - from > THRESHOLD) {
+            int middle = (from + to) >>> 1;
+            ComboPricingTask left = new ComboPricingTask(items, from, middle, 0, false);
+            left.fork();
+            long right = new ComboPricingTask(items, middle, to, 0, false).compute();
+            subtotal = left.join() + right;
+        } else {
+            subtotal = 0;
+            List<ComboPricingTask> nested = new ArrayList<>();
+            for (int i = from; i < to; i++) {
+                MealComponent item = items.get(i);
+                if (item instanceof MealCombo) {
+                    ComboPricingTask task = new ComboPricingTask((MealCombo) item);
+                    task.fork();
+                    nested.add(task);
+                } else {
+                    subtotal += item.getPriceCents();
+                }
+            }
+            for (ComboPricingTask task : nested) {
+                subtotal += task.join();
+            }
+        }
+        return wholeCombo ? Money.percentOff(subtotal, discount) : subtotal;
+    }
+}
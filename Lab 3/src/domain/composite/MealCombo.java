@@ -1,12 +1,26 @@
 package domain.composite;
+import utilities.Money;
+import utilities.logging.EventLog;
+import utilities.logging.LogEvent;
+
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ForkJoinPool;
 
 public class MealCombo implements MealComponent {
     private String name;
     private List<MealComponent> items;
     private double discount;
 
+    // Running subtotal kept up to date on add/remove and on child price changes,
+    // so reading the price is constant time no matter how large or deep the combo is
+    private volatile long subtotalCents;
+    private final List<PriceChangeListener> listeners = new CopyOnWriteArrayList<>();
+    private final PriceChangeListener childListener =
+            (source, oldCents, newCents) -> adjustSubtotal(newCents - oldCents);
+
     public MealCombo(String name, double discount) {
         this.name = name;
         this.discount = discount;
@@ -19,10 +33,48 @@ public class MealCombo implements MealComponent {
 
     public void add(MealComponent item) {
         items.add(item);
+        item.addPriceChangeListener(childListener);
+        adjustSubtotal(item.getPriceCents());
     }
 
     public void remove(MealComponent item) {
-        items.remove(item);
+        if (items.remove(item)) {
+            item.removePriceChangeListener(childListener);
+            adjustSubtotal(-item.getPriceCents());
+        }
+    }
+
+    // Applies a change to the subtotal and propagates the resulting price change to parents
+    private void adjustSubtotal(long deltaCents) {
+        if (deltaCents == 0) {
+            return;
+        }
+        long previousPrice;
+        long updatedPrice;
+        synchronized (this) {
+            previousPrice = Money.percentOff(subtotalCents, discount);
+            subtotalCents += deltaCents;
+            updatedPrice = Money.percentOff(subtotalCents, discount);
+        }
+        if (updatedPrice != previousPrice) {
+            for (PriceChangeListener listener : listeners) {
+                listener.priceChanged(this, previousPrice, updatedPrice);
+            }
+        }
+    }
+
+    @Override
+    public void addPriceChangeListener(PriceChangeListener listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public void removePriceChangeListener(PriceChangeListener listener) {
+        listeners.remove(listener);
+    }
+
+    public List<MealComponent> getItems() {
+        return Collections.unmodifiableList(items);
     }
 
     @Override
@@ -31,47 +83,78 @@ public class MealCombo implements MealComponent {
     }
 
     @Override
-    public double getPrice() {
-        double total = 0.0;
-        for (MealComponent item : items) {
-            total += item.getPrice();
-        }
-        return total * (1 - discount / 100);
+    public long getPriceCents() {
+        return Money.percentOff(subtotalCents, discount);
+    }
+
+    public long getSubtotalCents() {
+        return subtotalCents;
+    }
+
+    public double getDiscount() {
+        return discount;
+    }
+
+    // Recomputes the price from every item in the tree instead of the running subtotal.
+    // Long item lists and nested combos are spread across the fork/join pool; the result
+    // matches the sequential path exactly. The combo must not be modified while this runs.
+    public long computePriceCents() {
+        return computePriceCents(ForkJoinPool.commonPool());
+    }
+
+    public long computePriceCents(ForkJoinPool pool) {
+        return pool.invoke(new ComboPricingTask(this));
+    }
+
+    // Checks that the running subtotal still agrees with a full recomputation of the tree
+    public boolean validatePrice() {
+        return computePriceCents() == getPriceCents();
     }
 
     @Override
     public void displayInfo() {
-        System.out.println("Combo: " + name.toUpperCase());
-        System.out.println("Contains " + items.size() + " items:");
+        EventLog.log("Combo: " + name.toUpperCase());
+        EventLog.log("Contains " + items.size() + " items:");
 
-        double subtotal = 0.0;
         for (int i = 0; i < items.size(); i++) {
             MealComponent item = items.get(i);
-            System.out.println(item.getName() + item.getPrice());
-            subtotal += item.getPrice();
+            EventLog.log(item.getName() + Money.format(item.getPriceCents()));
         }
+        long subtotal = subtotalCents;
+        long total = Money.percentOff(subtotal, discount);
 
-        System.out.println("----------------------------------------");
-        System.out.println("Subtotal: $" + String.format("%.2f", subtotal));
+        EventLog.log("----------------------------------------");
+        EventLog.log("Subtotal: $" + Money.format(subtotal));
         if (discount > 0) {
-            System.out.println("Combo Discount: " + discount + "%");
-            System.out.println("You Save: $" + String.format("%.2f", subtotal - getPrice()));
+            EventLog.log("Combo Discount: " + discount + "%");
+            EventLog.log("You Save: $" + Money.format(subtotal - total));
         }
-        System.out.println("TOTAL: $" + String.format("%.2f", getPrice()));
-        System.out.println("========================================\n");
+        EventLog.log("TOTAL: $" + Money.format(total));
+        EventLog.log("========================================\n");
     }
 
     @Override
     public void prepare() {
-        System.out.println("Preparing: " + name);
+        EventLog.log(LogEvent.PREPARING, name);
         for (MealComponent item : items) {
             item.prepare();
         }
     }
 
+    // Prepares the items on the caller's pool instead, in no particular order (nested combos too);
+    // small combos are still prepared in order on the calling thread
+    public void prepareParallel(ForkJoinPool pool) {
+        if (items.size() <= ComboPreparationTask.THRESHOLD) {
+            prepare();
+            return;
+        }
+        EventLog.log(LogEvent.PREPARING, name);
+        pool.invoke(new ComboPreparationTask(items, 0, items.size()));
+    }
+
     @Override
     public void serve() {
-        System.out.println("Serving: " + name);
+        EventLog.log(LogEvent.SERVING, name);
         for (MealComponent item : items) {
             item.serve();
         }
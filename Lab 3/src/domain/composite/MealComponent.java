@@ -1,9 +1,38 @@
 package domain.composite;
 
+import domain.catalog.MenuCatalog;
+import utilities.Money;
+
 public interface MealComponent {
     String getName();
-    double getPrice();
+
+    // Price in whole cents; this is what all pricing and accounting uses
+    long getPriceCents();
+
+    default double getPrice() {
+        return Money.toDollars(getPriceCents());
+    }
+
     void displayInfo();
+
+    // Menu item this is (see MenuCatalog); decorators report the item they wrap
+    default int getItemId() {
+        return MenuCatalog.COMBO;
+    }
+
+    // Bitmask of the extras applied by decorators (see each decorator's MODIFIER)
+    default int getModifiers() {
+        return 0;
+    }
+
+    // Only components whose price can change (combos and decorators around them) keep
+    // listeners; fixed-price meals ignore the registration
+    default void addPriceChangeListener(PriceChangeListener listener) {
+    }
+
+    default void removePriceChangeListener(PriceChangeListener listener) {
+    }
+
     void prepare();
     void serve();
 }
@@ -0,0 +1,6 @@
+package domain.composite;
+
+// Notified when a component's price changes after it was read (e.g. a combo gains an item)
+public interface PriceChangeListener {
+    void priceChanged(MealComponent source, long oldCents, long newCents);
+}
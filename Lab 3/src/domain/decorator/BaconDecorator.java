@@ -1,27 +1,34 @@
 package domain.decorator;
 
 import domain.composite.MealComponent;
+import utilities.logging.EventLog;
 
 public class BaconDecorator extends MealDecorator {
-    private static final double EXTRA_COST = 2.50;
+    public static final int MODIFIER = 1 << 0;
+    private static final long EXTRA_COST_CENTS = 250;
 
     public BaconDecorator(MealComponent meal) {
         super(meal);
     }
 
     @Override
-    public String getName() {
+    protected int modifierFlag() {
+        return MODIFIER;
+    }
+
+    @Override
+    protected String computeName() {
         return wrappedMeal.getName() + " + Bacon";
     }
 
     @Override
-    public double getPrice() {
-        return wrappedMeal.getPrice() + EXTRA_COST;
+    protected long computePriceCents() {
+        return wrappedMeal.getPriceCents() + EXTRA_COST_CENTS;
     }
 
     @Override
     public void prepare() {
         wrappedMeal.prepare();
-        System.out.println("Adding crispy bacon...");
+        EventLog.log("Adding crispy bacon...");
     }
 }
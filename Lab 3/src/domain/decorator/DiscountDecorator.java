@@ -1,8 +1,11 @@
 package domain.decorator;
 
 import domain.composite.MealComponent;
+import utilities.Money;
+import utilities.logging.EventLog;
 
 public class DiscountDecorator extends MealDecorator {
+    public static final int MODIFIER = 1 << 2;
     private double discountPercent;
 
     public DiscountDecorator(MealComponent meal, double discountPercent) {
@@ -11,21 +14,26 @@ public class DiscountDecorator extends MealDecorator {
     }
 
     @Override
-    public String getName() {
+    protected int modifierFlag() {
+        return MODIFIER;
+    }
+
+    @Override
+    protected String computeName() {
         return wrappedMeal.getName() + " (" + discountPercent + "% OFF)";
     }
 
     @Override
-    public double getPrice() {
-        return wrappedMeal.getPrice() * (1 - discountPercent / 100);
+    protected long computePriceCents() {
+        return Money.percentOff(wrappedMeal.getPriceCents(), discountPercent);
     }
 
     @Override
     public void displayInfo() {
-        System.out.println("🎉 SPECIAL DISCOUNT APPLIED!");
+        EventLog.log("🎉 SPECIAL DISCOUNT APPLIED!");
         wrappedMeal.displayInfo();
-        System.out.println("Original Price: $" + String.format("%.2f", wrappedMeal.getPrice()));
-        System.out.println("Discount: " + discountPercent + "%");
-        System.out.println("Final Price: $" + String.format("%.2f", getPrice()));
+        EventLog.log("Original Price: $" + Money.format(wrappedMeal.getPriceCents()));
+        EventLog.log("Discount: " + discountPercent + "%");
+        EventLog.log("Final Price: $" + Money.format(getPriceCents()));
     }
 }
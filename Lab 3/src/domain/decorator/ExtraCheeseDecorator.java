@@ -1,27 +1,34 @@
 package domain.decorator;
 
 import domain.composite.MealComponent;
+import utilities.logging.EventLog;
 
 public class ExtraCheeseDecorator extends MealDecorator {
-    private static final double EXTRA_COST = 1.50;
+    public static final int MODIFIER = 1 << 1;
+    private static final long EXTRA_COST_CENTS = 150;
 
     public ExtraCheeseDecorator(MealComponent meal) {
         super(meal);
     }
 
     @Override
-    public String getName() {
+    protected int modifierFlag() {
+        return MODIFIER;
+    }
+
+    @Override
+    protected String computeName() {
         return wrappedMeal.getName() + " + Extra Cheese";
     }
 
     @Override
-    public double getPrice() {
-        return wrappedMeal.getPrice() + EXTRA_COST;
+    protected long computePriceCents() {
+        return wrappedMeal.getPriceCents() + EXTRA_COST_CENTS;
     }
 
     @Override
     public void prepare() {
         wrappedMeal.prepare();
-        System.out.println("Adding extra cheese...");
+        EventLog.log("Adding extra cheese...");
     }
 }
@@ -1,22 +1,98 @@
 package domain.decorator;
 
 import domain.composite.MealComponent;
+import domain.composite.PriceChangeListener;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 public abstract class MealDecorator implements MealComponent {
+    private static final long NOT_COMPUTED = Long.MIN_VALUE;
+
     protected MealComponent wrappedMeal;
 
+    // Memoized results, so reading a deep decorator chain is O(1) after the first call.
+    // Names never change once built; prices are recomputed when the wrapped meal reports a change.
+    private volatile String cachedName;
+    private volatile long cachedPriceCents = NOT_COMPUTED;
+    private final List<PriceChangeListener> listeners = new CopyOnWriteArrayList<>();
+    private final PriceChangeListener wrappedListener = this::wrappedPriceChanged;
+
     public MealDecorator(MealComponent meal) {
         this.wrappedMeal = meal;
+        meal.addPriceChangeListener(wrappedListener);
+    }
+
+    // Subclasses describe their extra on top of the wrapped meal
+    protected String computeName() {
+        return wrappedMeal.getName();
+    }
+
+    protected long computePriceCents() {
+        return wrappedMeal.getPriceCents();
+    }
+
+    // The bit this decorator contributes to getModifiers()
+    protected int modifierFlag() {
+        return 0;
+    }
+
+    public MealComponent getWrappedMeal() {
+        return wrappedMeal;
+    }
+
+    @Override
+    public int getItemId() {
+        return wrappedMeal.getItemId();
+    }
+
+    @Override
+    public int getModifiers() {
+        return wrappedMeal.getModifiers() | modifierFlag();
     }
 
     @Override
     public String getName() {
-        return wrappedMeal.getName();
+        String name = cachedName;
+        if (name == null) {
+            name = computeName();
+            cachedName = name;
+        }
+        return name;
+    }
+
+    @Override
+    public long getPriceCents() {
+        long price = cachedPriceCents;
+        if (price == NOT_COMPUTED) {
+            price = computePriceCents();
+            cachedPriceCents = price;
+        }
+        return price;
+    }
+
+    private void wrappedPriceChanged(MealComponent source, long oldCents, long newCents) {
+        long previous = cachedPriceCents;
+        if (previous == NOT_COMPUTED) {
+            return; // never read, nothing to refresh
+        }
+        long updated = computePriceCents();
+        cachedPriceCents = updated;
+        if (updated != previous) {
+            for (PriceChangeListener listener : listeners) {
+                listener.priceChanged(this, previous, updated);
+            }
+        }
+    }
+
+    @Override
+    public void addPriceChangeListener(PriceChangeListener listener) {
+        listeners.add(listener);
     }
 
     @Override
-    public double getPrice() {
-        return wrappedMeal.getPrice();
+    public void removePriceChangeListener(PriceChangeListener listener) {
+        listeners.remove(listener);
     }
 
     @Override
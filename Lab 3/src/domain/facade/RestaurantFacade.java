@@ -2,6 +2,7 @@
 package domain.facade;
 
 import domain.builder.BurgerBuilder;
+import domain.catalog.MenuCatalog;
 import domain.composite.MealCombo;
 import domain.composite.MealComponent;
 import domain.decorator.BaconDecorator;
@@ -13,7 +14,9 @@ import domain.factories.ItalianMealFactory;
 import domain.factories.MealFactory;
 import domain.models.ComboMeal;
 import domain.models.Meal;
+import utilities.Money;
 import utilities.RestaurantOrderSystem;
+import utilities.logging.EventLog;
 
 public class RestaurantFacade {
     private RestaurantOrderSystem orderSystem;
@@ -24,21 +27,21 @@ public class RestaurantFacade {
 
     // Simple factory-based orders
     public void orderPizza() {
-        System.out.println("\n--- Ordering Standard Pizza ---");
+        EventLog.log("\n--- Ordering Standard Pizza ---");
         MealFactory factory = new ItalianMealFactory("pizza");
         Meal pizza = factory.orderMeal();
         orderSystem.placeOrder(pizza);
     }
 
     public void orderBurger() {
-        System.out.println("\n--- Ordering Standard Burger ---");
+        EventLog.log("\n--- Ordering Standard Burger ---");
         MealFactory factory = new AmericanMealFactory();
         Meal burger = factory.orderMeal();
         orderSystem.placeOrder(burger);
     }
 
     public void orderSalad() {
-        System.out.println("\n--- Ordering Healthy Salad ---");
+        EventLog.log("\n--- Ordering Healthy Salad ---");
         MealFactory factory = new HealthyMealFactory();
         Meal salad = factory.orderMeal();
         orderSystem.placeOrder(salad);
@@ -46,8 +49,8 @@ public class RestaurantFacade {
 
     // Builder-based custom orders
     public void orderCustomBurger(String base, String protein, String toppings) {
-        System.out.println("\n--- Building Custom Burger ---");
-        Meal customBurger = new BurgerBuilder()
+        EventLog.log("\n--- Building Custom Burger ---");
+        Meal customBurger = BurgerBuilder.pooled()
                 .setBase(base)
                 .addProtein(protein)
                 .addToppings(toppings)
@@ -62,9 +65,9 @@ public class RestaurantFacade {
 
     // Decorator-based orders (with extras)
     public void orderBurgerWithExtras() {
-        System.out.println("\n--- Ordering Deluxe Burger with Extras ---");
-        MealFactory factory = new AmericanMealFactory();
-        Meal burger = factory.createMeal();
+        EventLog.log("\n--- Ordering Deluxe Burger with Extras ---");
+        // Decorators never change the item they wrap, so the shared catalog burger will do
+        Meal burger = MenuCatalog.standard(MenuCatalog.BURGER);
 
         // Wrap with decorators
         MealComponent deluxeBurger = new ExtraCheeseDecorator(burger);
@@ -77,9 +80,8 @@ public class RestaurantFacade {
     }
 
     public void orderPizzaWithDiscount(double discountPercent) {
-        System.out.println("\n--- Ordering Pizza with Special Discount ---");
-        MealFactory factory = new ItalianMealFactory("pizza");
-        Meal pizza = factory.createMeal();
+        EventLog.log("\n--- Ordering Pizza with Special Discount ---");
+        Meal pizza = MenuCatalog.standard(MenuCatalog.PIZZA);
 
         MealComponent discountedPizza = new DiscountDecorator(pizza, discountPercent);
 
@@ -91,9 +93,9 @@ public class RestaurantFacade {
 
     // Composite-based orders (Combos)
     public void orderFamilyCombo() {
-        System.out.println("\n--- Ordering Family Combo ---");
+        EventLog.log("\n--- Ordering Family Combo ---");
 
-        // Create individual items
+        // Create individual items (each one its own instance, a combo holds every item once)
         MealFactory italianFactory = new ItalianMealFactory("pizza");
         MealFactory americanFactory = new AmericanMealFactory();
         MealFactory healthyFactory = new HealthyMealFactory();
@@ -119,7 +121,7 @@ public class RestaurantFacade {
     }
 
     public void orderKidsCombo() {
-        System.out.println("\n--- Ordering Kids Combo ---");
+        EventLog.log("\n--- Ordering Kids Combo ---");
 
         MealFactory factory = new AmericanMealFactory();
         Meal burger = factory.createMeal();
@@ -140,11 +142,11 @@ public class RestaurantFacade {
     }
 
     public void displayStatistics() {
-        System.out.println("\n========================================");
-        System.out.println("📊 RESTAURANT STATISTICS");
-        System.out.println("========================================");
-        System.out.println("Total Orders: " + orderSystem.getTotalOrders());
-        System.out.println("Total Revenue: $" + String.format("%.2f", orderSystem.getTotalRevenue()));
-        System.out.println("========================================\n");
+        EventLog.log("\n========================================");
+        EventLog.log("📊 RESTAURANT STATISTICS");
+        EventLog.log("========================================");
+        EventLog.log("Total Orders: " + orderSystem.getTotalOrders());
+        EventLog.log("Total Revenue: $" + Money.format(orderSystem.getTotalRevenueCents()));
+        EventLog.log("========================================\n");
     }
 }
@@ -1,5 +1,6 @@
 package domain.factories;
 
+import domain.catalog.MenuCatalog;
 import domain.models.Burger;
 import domain.models.Meal;
 
@@ -9,4 +10,9 @@ public class AmericanMealFactory extends MealFactory {
     public Meal createMeal() {
         return new Burger();
     }
+
+    @Override
+    protected int itemId() {
+        return MenuCatalog.BURGER;
+    }
 }
@@ -1,5 +1,6 @@
 package domain.factories;
 
+import domain.catalog.MenuCatalog;
 import domain.models.Meal;
 import domain.models.Salad;
 
@@ -9,4 +10,9 @@ public class HealthyMealFactory extends MealFactory {
     public Meal createMeal() {
         return new Salad();
     }
+
+    @Override
+    protected int itemId() {
+        return MenuCatalog.SALAD;
+    }
 }
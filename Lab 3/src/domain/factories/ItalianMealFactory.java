@@ -1,5 +1,6 @@
 package domain.factories;
 
+import domain.catalog.MenuCatalog;
 import domain.models.Meal;
 import domain.models.Pasta;
 import domain.models.Pizza;
@@ -21,4 +22,14 @@ public class ItalianMealFactory extends MealFactory {
         }
         return null;
     }
+
+    @Override
+    protected int itemId() {
+        if (mealType.equalsIgnoreCase("pizza")) {
+            return MenuCatalog.PIZZA;
+        } else if (mealType.equalsIgnoreCase("pasta")) {
+            return MenuCatalog.PASTA;
+        }
+        throw new IllegalArgumentException("Unknown Italian meal: " + mealType);
+    }
 }
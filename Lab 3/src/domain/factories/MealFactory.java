@@ -1,15 +1,20 @@
 package domain.factories;
 
+import domain.catalog.MenuCatalog;
 import domain.models.Meal;
 
 public abstract class MealFactory {
 
-    // Factory Method
+    // Factory Method: a new meal the caller may customize
+    // (the shared read-only instances are MenuCatalog.standard)
     public abstract Meal createMeal();
 
-    // Template method that uses the factory method
+    // MenuCatalog id of the meal this factory makes
+    protected abstract int itemId();
+
+    // Template method: a plain order is never customized, so it gets the shared catalog item
     public Meal orderMeal() {
-        Meal meal = createMeal();
+        Meal meal = MenuCatalog.standard(itemId());
         meal.prepare();
         meal.serve();
         return meal;
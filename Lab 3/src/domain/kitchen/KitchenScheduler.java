@@ -0,0 +1,106 @@
+package domain.kitchen;
+
+import domain.composite.MealCombo;
+import domain.composite.MealComponent;
+import domain.decorator.MealDecorator;
+import domain.models.ComboMeal;
+import domain.observer.OrderObserver;
+import utilities.logging.EventLog;
+import utilities.logging.LogEvent;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Prepares orders on parallel kitchen stations instead of one item after another.
+// Combos are split into their items, each item is prepared by the worker pool of its
+// station, and the order is served once its last item is ready - so a combo takes as long
+// as its slowest item rather than the sum of all of them.
+// Attach it to the order system as an observer to cook every placed order.
+public class KitchenScheduler implements OrderObserver {
+    private final Map<Station, ExecutorService> stations = new EnumMap<>(Station.class);
+
+    public KitchenScheduler(int workersPerStation) {
+        for (Station station : Station.values()) {
+            AtomicInteger counter = new AtomicInteger();
+            String prefix = "kitchen-" + station.name().toLowerCase() + "-";
+            stations.put(station, Executors.newFixedThreadPool(workersPerStation, runnable -> {
+                Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }));
+        }
+    }
+
+    public KitchenScheduler() {
+        this(2);
+    }
+
+    @Override
+    public void update(MealComponent order) {
+        submit(order).whenComplete((served, failure) -> {
+            if (failure != null) {
+                EventLog.log("Kitchen failed on " + order.getName() + ": " + failure);
+            }
+        });
+    }
+
+    // Returns a future that completes when the whole order has been prepared and served
+    // (at once for a combo with no items)
+    public CompletableFuture<Void> submit(MealComponent order) {
+        List<MealComponent> items = new ArrayList<>();
+        collectItems(order, items);
+        if (items.isEmpty()) {
+            return CompletableFuture.completedFuture(null); // an empty combo has nothing to cook
+        }
+        if (items.size() > 1 || items.get(0) != order) {
+            EventLog.log(LogEvent.PREPARING, order.getName());
+        }
+
+        CompletableFuture<?>[] prepared = new CompletableFuture<?>[items.size()];
+        for (int i = 0; i < items.size(); i++) {
+            MealComponent item = items.get(i);
+            prepared[i] = CompletableFuture.runAsync(item::prepare, stations.get(Station.forItem(item.getItemId())));
+        }
+        return CompletableFuture.allOf(prepared).thenRun(order::serve);
+    }
+
+    // COMPOSITE PATTERN: walk combos down to the items a station can cook. Decorators around
+    // a combo (e.g. a discount) are looked through; a decorated single item is cooked as is.
+    private void collectItems(MealComponent component, List<MealComponent> items) {
+        MealCombo combo = comboInside(component);
+        if (combo != null) {
+            for (MealComponent item : combo.getItems()) {
+                collectItems(item, items);
+            }
+        } else {
+            items.add(component);
+        }
+    }
+
+    private static MealCombo comboInside(MealComponent component) {
+        while (component instanceof MealDecorator) {
+            component = ((MealDecorator) component).getWrappedMeal();
+        }
+        if (component instanceof ComboMeal) {
+            return ((ComboMeal) component).getCombo();
+        }
+        return component instanceof MealCombo ? (MealCombo) component : null;
+    }
+
+    // Finishes the queued work and stops the station workers
+    public void shutdown() throws InterruptedException {
+        for (ExecutorService station : stations.values()) {
+            station.shutdown();
+        }
+        for (ExecutorService station : stations.values()) {
+            station.awaitTermination(1, TimeUnit.MINUTES);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package domain.kitchen;
+
+import domain.catalog.MenuCatalog;
+
+// Kitchen stations that can work in parallel
+public enum Station {
+    OVEN,
+    STOVE,
+    GRILL,
+    SALAD_BAR,
+    ASSEMBLY;
+
+    public static Station forItem(int itemId) {
+        switch (itemId) {
+            case MenuCatalog.PIZZA:
+                return OVEN;
+            case MenuCatalog.PASTA:
+                return STOVE;
+            case MenuCatalog.BURGER:
+                return GRILL;
+            case MenuCatalog.SALAD:
+                return SALAD_BAR;
+            default:
+                return ASSEMBLY;
+        }
+    }
+}
@@ -1,19 +1,23 @@
 package domain.models;
 
+import domain.catalog.MenuCatalog;
+import utilities.logging.EventLog;
+
 public class Burger extends Meal {
 
     public Burger() {
+        this.itemId = MenuCatalog.BURGER;
         this.name = "Burger";
-        this.price = 10.99;
+        this.priceCents = 1099;
     }
 
     @Override
     public void prepare() {
-        System.out.println("Preparing the ordered burger...");
+        EventLog.log("Preparing the ordered burger...");
     }
 
     @Override
     public void serve() {
-        System.out.println("Serving the burger!");
+        EventLog.log("Serving the burger!");
     }
 }
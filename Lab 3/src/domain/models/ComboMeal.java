@@ -1,5 +1,6 @@
 package domain.models;
 
+import domain.catalog.MenuCatalog;
 import domain.composite.MealCombo;
 
 public class ComboMeal extends Meal {
@@ -7,8 +8,13 @@ public class ComboMeal extends Meal {
 
     public ComboMeal(MealCombo combo) {
         this.combo = combo;
+        this.itemId = MenuCatalog.COMBO;
         this.name = combo.getName();
-        this.price = combo.getPrice();
+        this.priceCents = combo.getPriceCents();
+    }
+
+    public MealCombo getCombo() {
+        return combo;
     }
 
     @Override
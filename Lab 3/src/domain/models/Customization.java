@@ -0,0 +1,119 @@
+package domain.models;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+// Immutable set of custom choices for a meal (null = not specified).
+// Identical customizations are interned, so popular custom orders share one instance
+// and a Meal only needs a single reference instead of six String fields.
+public final class Customization {
+    public static final Customization NONE = new Customization(null, null, null, null, null, null);
+
+    private static final int CACHE_SIZE = 1024;
+    private static final AtomicReferenceArray<Customization> CACHE = new AtomicReferenceArray<>(CACHE_SIZE);
+
+    private final String base;
+    private final String protein;
+    private final String vegetables;
+    private final String sauce;
+    private final String toppings;
+    private final String sides;
+    private final int hash;
+
+    private Customization(String base, String protein, String vegetables,
+                          String sauce, String toppings, String sides) {
+        this.base = base;
+        this.protein = protein;
+        this.vegetables = vegetables;
+        this.sauce = sauce;
+        this.toppings = toppings;
+        this.sides = sides;
+        this.hash = hash(base, protein, vegetables, sauce, toppings, sides);
+    }
+
+    // Returns the interned instance when there is one, so repeated orders allocate nothing
+    public static Customization of(String base, String protein, String vegetables,
+                                   String sauce, String toppings, String sides) {
+        int hash = hash(base, protein, vegetables, sauce, toppings, sides);
+        int slot = (hash ^ (hash >>> 16)) & (CACHE_SIZE - 1);
+        Customization cached = CACHE.get(slot);
+        if (cached != null && cached.matches(hash, base, protein, vegetables, sauce, toppings, sides)) {
+            return cached;
+        }
+        if (NONE.matches(hash, base, protein, vegetables, sauce, toppings, sides)) {
+            return NONE;
+        }
+        Customization created = new Customization(base, protein, vegetables, sauce, toppings, sides);
+        CACHE.set(slot, created);
+        return created;
+    }
+
+    private static int hash(String base, String protein, String vegetables,
+                            String sauce, String toppings, String sides) {
+        int h = Objects.hashCode(base);
+        h = 31 * h + Objects.hashCode(protein);
+        h = 31 * h + Objects.hashCode(vegetables);
+        h = 31 * h + Objects.hashCode(sauce);
+        h = 31 * h + Objects.hashCode(toppings);
+        return 31 * h + Objects.hashCode(sides);
+    }
+
+    private boolean matches(int hash, String base, String protein, String vegetables,
+                            String sauce, String toppings, String sides) {
+        return this.hash == hash
+                && Objects.equals(this.base, base)
+                && Objects.equals(this.protein, protein)
+                && Objects.equals(this.vegetables, vegetables)
+                && Objects.equals(this.sauce, sauce)
+                && Objects.equals(this.toppings, toppings)
+                && Objects.equals(this.sides, sides);
+    }
+
+    public Customization withBase(String base) {
+        return of(base, protein, vegetables, sauce, toppings, sides);
+    }
+
+    public Customization withProtein(String protein) {
+        return of(base, protein, vegetables, sauce, toppings, sides);
+    }
+
+    public Customization withVegetables(String vegetables) {
+        return of(base, protein, vegetables, sauce, toppings, sides);
+    }
+
+    public Customization withSauce(String sauce) {
+        return of(base, protein, vegetables, sauce, toppings, sides);
+    }
+
+    public Customization withToppings(String toppings) {
+        return of(base, protein, vegetables, sauce, toppings, sides);
+    }
+
+    public Customization withSides(String sides) {
+        return of(base, protein, vegetables, sauce, toppings, sides);
+    }
+
+    public String getBase() { return base; }
+    public String getProtein() { return protein; }
+    public String getVegetables() { return vegetables; }
+    public String getSauce() { return sauce; }
+    public String getToppings() { return toppings; }
+    public String getSides() { return sides; }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof Customization)) {
+            return false;
+        }
+        Customization that = (Customization) other;
+        return that.matches(hash, base, protein, vegetables, sauce, toppings, sides);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+}
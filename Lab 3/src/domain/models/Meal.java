@@ -1,15 +1,16 @@
 package domain.models;
 import domain.composite.MealComponent;
+import utilities.Money;
+import utilities.logging.EventLog;
 
 public abstract class Meal implements MealComponent {
+    protected int itemId;
     protected String name;
-    protected double price;
-    protected String base;
-    protected String protein;
-    protected String vegetables;
-    protected String sauce;
-    protected String toppings;
-    protected String sides;
+    protected long priceCents;
+    protected Customization customization = Customization.NONE;
+
+    // Shared catalog instances are read-only (see MenuCatalog)
+    private volatile boolean frozen;
 
     @Override
     public abstract void prepare();
@@ -17,43 +18,80 @@ public abstract class Meal implements MealComponent {
     @Override
     public abstract void serve();
 
+    @Override
+    public int getItemId() { return itemId; }
+
     @Override
     public String getName() { return name; }
 
     @Override
-    public double getPrice() { return price; }
+    public long getPriceCents() { return priceCents; }
+
+    public Customization getCustomization() { return customization; }
 
-    public void setBase(String base) { this.base = base; }
+    // Applies all custom choices at once (used by the builders)
+    public void customize(Customization customization) {
+        checkNotFrozen();
+        this.customization = customization;
+    }
+
+    public void setBase(String base) {
+        checkNotFrozen();
+        this.customization = customization.withBase(base);
+    }
 
     public void setProtein(String protein) {
-        this.protein = protein;
+        checkNotFrozen();
+        this.customization = customization.withProtein(protein);
     }
 
     public void setVegetables(String vegetables) {
-        this.vegetables = vegetables;
+        checkNotFrozen();
+        this.customization = customization.withVegetables(vegetables);
     }
 
     public void setSauce(String sauce) {
-        this.sauce = sauce;
+        checkNotFrozen();
+        this.customization = customization.withSauce(sauce);
     }
 
     public void setToppings(String toppings) {
-        this.toppings = toppings;
+        checkNotFrozen();
+        this.customization = customization.withToppings(toppings);
     }
 
     public void setSides(String sides) {
-        this.sides = sides;
+        checkNotFrozen();
+        this.customization = customization.withSides(sides);
+    }
+
+    // Makes this meal read-only so it can be shared between orders
+    public Meal freeze() {
+        frozen = true;
+        return this;
+    }
+
+    public boolean isFrozen() {
+        return frozen;
+    }
+
+    private void checkNotFrozen() {
+        if (frozen) {
+            throw new UnsupportedOperationException(
+                    "Shared menu item " + name + " cannot be customized; use a builder instead");
+        }
     }
 
     @Override
     public void displayInfo() {
-        System.out.println("=== " + "Custom" + name + " ===");
-        System.out.println("Price: $" + price);
-        if (base != null) System.out.println("Base: " + base);
-        if (protein != null) System.out.println("Protein: " + protein);
-        if (vegetables != null) System.out.println("Vegetables: " + vegetables);
-        if (sauce != null) System.out.println("Sauce: " + sauce);
-        if (toppings != null) System.out.println("Toppings: " + toppings);
-        if (sides != null) System.out.println("Sides: " + sides);
+        EventLog.log("=== " + "Custom" + name + " ===");
+        EventLog.log("Price: $" + Money.format(priceCents));
+        Customization c = customization;
+        if (c.getBase() != null) EventLog.log("Base: " + c.getBase());
+        if (c.getProtein() != null) EventLog.log("Protein: " + c.getProtein());
+        if (c.getVegetables() != null) EventLog.log("Vegetables: " + c.getVegetables());
+        if (c.getSauce() != null) EventLog.log("Sauce: " + c.getSauce());
+        if (c.getToppings() != null) EventLog.log("Toppings: " + c.getToppings());
+        if (c.getSides() != null) EventLog.log("Sides: " + c.getSides());
     }
 }
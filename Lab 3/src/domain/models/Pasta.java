@@ -1,19 +1,23 @@
 package domain.models;
 
+import domain.catalog.MenuCatalog;
+import utilities.logging.EventLog;
+
 public class Pasta extends Meal {
 
     public Pasta() {
+        this.itemId = MenuCatalog.PASTA;
         this.name = "Pasta";
-        this.price = 14.99;
+        this.priceCents = 1499;
     }
 
     @Override
     public void prepare() {
-        System.out.println("Preparing the ordered pasta...");
+        EventLog.log("Preparing the ordered pasta...");
     }
 
     @Override
     public void serve() {
-        System.out.println("Serving the pasta!");
+        EventLog.log("Serving the pasta!");
     }
 }
@@ -1,19 +1,23 @@
 package domain.models;
 
+import domain.catalog.MenuCatalog;
+import utilities.logging.EventLog;
+
 public class Pizza extends Meal {
 
     public Pizza() {
+        this.itemId = MenuCatalog.PIZZA;
         this.name = "Pizza";
-        this.price = 12.99;
+        this.priceCents = 1299;
     }
 
     @Override
     public void prepare() {
-        System.out.println("Preparing the ordered pizza...");
+        EventLog.log("Preparing the ordered pizza...");
     }
 
     @Override
     public void serve() {
-        System.out.println("Serving the hot pizza!");
+        EventLog.log("Serving the hot pizza!");
     }
 }
@@ -1,19 +1,23 @@
 package domain.models;
 
+import domain.catalog.MenuCatalog;
+import utilities.logging.EventLog;
+
 public class Salad extends Meal {
 
     public Salad() {
+        this.itemId = MenuCatalog.SALAD;
         this.name = "Salad";
-        this.price = 8.99;
+        this.priceCents = 899;
     }
 
     @Override
     public void prepare() {
-        System.out.println("Preparing teh ordered salad...");
+        EventLog.log("Preparing teh ordered salad...");
     }
 
     @Override
     public void serve() {
-        System.out.println("Serving the salad!");
+        EventLog.log("Serving the salad!");
     }
 }
@@ -0,0 +1,222 @@
+package domain.observer;
+
+import domain.composite.MealComponent;
+import utilities.logging.EventLog;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+// OBSERVER PATTERN (event-bus mode): Wraps a slow observer behind its own bounded
+// ring buffer and consumer thread, so placeOrder never waits for update() to finish.
+public class AsyncOrderObserver implements OrderObserver {
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+
+    private final OrderObserver delegate;
+    private final BackpressurePolicy policy;
+
+    // Ring buffer: orders and the time they were queued, in parallel arrays
+    private final MealComponent[] ring;
+    private final long[] queuedAt;
+    private int head;
+    private int size;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition notFull = lock.newCondition();
+    private final Thread consumer;
+    private volatile boolean running = true;
+
+    // Lag metrics
+    private long published;
+    private long delivered;
+    private long dropped;
+    private volatile long lastDeliveryLagNanos;
+    private volatile long maxDeliveryLagNanos;
+
+    public AsyncOrderObserver(OrderObserver delegate, int capacity, BackpressurePolicy policy) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        this.delegate = delegate;
+        this.policy = policy;
+        this.ring = new MealComponent[capacity];
+        this.queuedAt = new long[capacity];
+
+        this.consumer = new Thread(this::consume,
+                "order-observer-" + THREAD_COUNTER.incrementAndGet());
+        this.consumer.setDaemon(true);
+        this.consumer.start();
+    }
+
+    // Called on the order-placing thread: only queues the order
+    @Override
+    public void update(MealComponent order) {
+        lock.lock();
+        try {
+            enqueue(order);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Queues a whole batch under a single lock acquisition
+    @Override
+    public void updateBatch(List<MealComponent> orders) {
+        lock.lock();
+        try {
+            for (MealComponent order : orders) {
+                enqueue(order);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Must be called while holding the lock
+    private void enqueue(MealComponent order) {
+        if (size == ring.length) {
+            switch (policy) {
+                case BLOCK:
+                    while (size == ring.length && running) {
+                        notFull.awaitUninterruptibly();
+                    }
+                    break;
+                case DROP_OLDEST:
+                    ring[head] = null;
+                    head = (head + 1) % ring.length;
+                    size--;
+                    dropped++;
+                    break;
+                case COALESCE:
+                    int newest = (head + size - 1) % ring.length;
+                    ring[newest] = order;
+                    queuedAt[newest] = System.nanoTime();
+                    published++;
+                    dropped++;
+                    return;
+            }
+        }
+        if (!running) {
+            dropped++;
+            return;
+        }
+        int tail = (head + size) % ring.length;
+        ring[tail] = order;
+        queuedAt[tail] = System.nanoTime();
+        size++;
+        published++;
+        notEmpty.signal();
+    }
+
+    private void consume() {
+        while (true) {
+            MealComponent order;
+            long queuedTime;
+            lock.lock();
+            try {
+                while (size == 0) {
+                    if (!running) {
+                        return;
+                    }
+                    notEmpty.awaitUninterruptibly();
+                }
+                order = ring[head];
+                queuedTime = queuedAt[head];
+                ring[head] = null;
+                head = (head + 1) % ring.length;
+                size--;
+                notFull.signal();
+            } finally {
+                lock.unlock();
+            }
+
+            try {
+                delegate.update(order);
+            } catch (RuntimeException e) {
+                EventLog.log("Observer failed on " + order.getName() + ": " + e);
+            }
+
+            long lag = System.nanoTime() - queuedTime;
+            lastDeliveryLagNanos = lag;
+            if (lag > maxDeliveryLagNanos) {
+                maxDeliveryLagNanos = lag;
+            }
+            lock.lock();
+            try {
+                delivered++;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    // Stops accepting orders, lets the consumer drain what is queued and waits for it
+    public void close() throws InterruptedException {
+        lock.lock();
+        try {
+            running = false;
+            notEmpty.signalAll();
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        consumer.join();
+    }
+
+    public OrderObserver getDelegate() {
+        return delegate;
+    }
+
+    public BackpressurePolicy getPolicy() {
+        return policy;
+    }
+
+    // Orders queued but not yet delivered
+    public int getPendingCount() {
+        lock.lock();
+        try {
+            return size;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getPublishedCount() {
+        lock.lock();
+        try {
+            return published;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getDeliveredCount() {
+        lock.lock();
+        try {
+            return delivered;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Orders discarded by DROP_OLDEST, merged away by COALESCE, or refused after close()
+    public long getDroppedCount() {
+        lock.lock();
+        try {
+            return dropped;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Time between queueing and delivery of the most recent order
+    public long getLastDeliveryLagNanos() {
+        return lastDeliveryLagNanos;
+    }
+
+    public long getMaxDeliveryLagNanos() {
+        return maxDeliveryLagNanos;
+    }
+}
@@ -0,0 +1,11 @@
+package domain.observer;
+
+// What an asynchronous observer does when its queue is full
+public enum BackpressurePolicy {
+    // Wait until the observer has room (placeOrder slows down to the observer's pace)
+    BLOCK,
+    // Discard the oldest pending order to make room for the new one
+    DROP_OLDEST,
+    // Replace the newest pending order, so the observer only sees the latest state
+    COALESCE
+}
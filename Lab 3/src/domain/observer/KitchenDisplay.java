@@ -1,11 +1,13 @@
 package domain.observer;
 
 import domain.composite.MealComponent;
+import utilities.logging.EventLog;
+import utilities.logging.LogEvent;
 
 public class KitchenDisplay implements OrderObserver {
     @Override
     public void update(MealComponent order) {
-        System.out.println("[KITCHEN ALERT] New Order Received: " + order.getName());
-        System.out.println("Preparation started immediately.");
+        EventLog.log(LogEvent.KITCHEN_ALERT, order.getName());
+        EventLog.log("Preparation started immediately.");
     }
 }
\ No newline at end of file
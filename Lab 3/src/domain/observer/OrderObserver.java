@@ -1,6 +1,15 @@
 package domain.observer;
 import domain.composite.MealComponent;
 
+import java.util.List;
+
 public interface OrderObserver {
     void update(MealComponent order);
-}
\ No newline at end of file
+
+    // Called once for a whole batch of orders; override to handle them in one go
+    default void updateBatch(List<MealComponent> orders) {
+        for (MealComponent order : orders) {
+            update(order);
+        }
+    }
+}
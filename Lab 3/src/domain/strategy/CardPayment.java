@@ -1,5 +1,8 @@
 package domain.strategy;
 
+import utilities.Money;
+import utilities.logging.EventLog;
+
 public class CardPayment implements PaymentStrategy {
     private String cardNumber;
     private String cardHolder;
@@ -10,9 +13,9 @@ public class CardPayment implements PaymentStrategy {
     }
 
     @Override
-    public void pay(double amount) {
-        System.out.println("Processing Credit Card Payment...");
-        System.out.println("   Card Holder: " + cardHolder);
-        System.out.println("   Amount: $" + String.format("%.2f", amount));
+    public void pay(long amountCents) {
+        EventLog.log("Processing Credit Card Payment...");
+        EventLog.log("   Card Holder: " + cardHolder);
+        EventLog.log("   Amount: $" + Money.format(amountCents));
     }
 }
\ No newline at end of file
@@ -1,8 +1,11 @@
 package domain.strategy;
 
+import utilities.Money;
+import utilities.logging.EventLog;
+
 public class CashPayment implements PaymentStrategy {
     @Override
-    public void pay(double amount) {
-        System.out.println("Paid $" + String.format("%.2f", amount) + " in Cash.");
+    public void pay(long amountCents) {
+        EventLog.log("Paid $" + Money.format(amountCents) + " in Cash.");
     }
 }
\ No newline at end of file
@@ -1,5 +1,5 @@
 package domain.strategy;
 
 public interface PaymentStrategy {
-    void pay(double amount);
+    void pay(long amountCents);
 }
\ No newline at end of file
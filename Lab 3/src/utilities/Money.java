@@ -0,0 +1,40 @@
+package utilities;
+
+// Money is kept as a primitive long number of cents, so sums are exact and
+// pricing never boxes or allocates. These helpers convert and format amounts.
+public final class Money {
+
+    private Money() {
+    }
+
+    public static long ofDollars(double dollars) {
+        return Math.round(dollars * 100);
+    }
+
+    public static double toDollars(long cents) {
+        return cents / 100.0;
+    }
+
+    // Applies a percentage discount, rounding to the nearest cent
+    public static long percentOff(long cents, double percent) {
+        return Math.round(cents * (100.0 - percent) / 100.0);
+    }
+
+    // Appends "12.34" (no currency sign) without going through String.format
+    public static StringBuilder appendTo(StringBuilder out, long cents) {
+        if (cents < 0) {
+            out.append('-');
+            cents = -cents;
+        }
+        long fraction = cents % 100;
+        out.append(cents / 100).append('.');
+        if (fraction < 10) {
+            out.append('0');
+        }
+        return out.append(fraction);
+    }
+
+    public static String format(long cents) {
+        return appendTo(new StringBuilder(12), cents).toString();
+    }
+}
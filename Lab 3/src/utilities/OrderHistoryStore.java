@@ -0,0 +1,206 @@
+package utilities;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Compact order history: every order is a fixed-width 32-byte record kept off the heap in
+// memory-mapped segments of a file, so the OS pages old orders out instead of the GC
+// having to keep whole meal object graphs alive.
+//
+// Record layout: [sequence:8][timestamp millis:8][price cents:8][name code:4][item id:2][modifiers:2]
+// Item names are interned once in a name table and referenced by code, so the history shows
+// exactly the name the order was placed with; the item id is the MenuCatalog id.
+// The sequence is written last and doubles as the "record is complete" marker (0 = empty).
+public class OrderHistoryStore implements AutoCloseable {
+    public static final int RECORD_SIZE = 32;
+    private static final int SEGMENT_RECORDS = 1 << 16;
+    private static final long SEGMENT_BYTES = (long) SEGMENT_RECORDS * RECORD_SIZE;
+
+    private static final int SEQUENCE = 0;
+    private static final int TIMESTAMP = 8;
+    private static final int PRICE = 16;
+    private static final int NAME_CODE = 24;
+    private static final int ITEM_ID = 28;
+    private static final int MODIFIERS = 30;
+
+    // Lets the sequence be published/read with release/acquire ordering
+    private static final VarHandle LONG_VIEW =
+            MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+
+    // Reads a record without allocating anything
+    public interface RecordVisitor {
+        void visit(long sequence, long timestampMillis, int itemId, int nameCode, long priceCents, int modifiers);
+    }
+
+    private final FileChannel channel;
+    private volatile MappedByteBuffer[] segments = new MappedByteBuffer[0];
+    private final AtomicLong highestSequence = new AtomicLong();
+
+    // Item names are interned once and referenced by code from the records
+    private final Map<String, Integer> nameCodes = new ConcurrentHashMap<>();
+    private final List<String> names = new CopyOnWriteArrayList<>();
+
+    public OrderHistoryStore(Path file) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+
+    // History backed by a temporary file that is removed when the JVM exits
+    public static OrderHistoryStore createTemporary() {
+        try {
+            Path file = Files.createTempFile("order-history", ".bin");
+            file.toFile().deleteOnExit();
+            return new OrderHistoryStore(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not create order history file", e);
+        }
+    }
+
+    public int codeFor(String itemName) {
+        Integer code = nameCodes.get(itemName);
+        if (code != null) {
+            return code;
+        }
+        synchronized (names) {
+            return nameCodes.computeIfAbsent(itemName, name -> {
+                names.add(name);
+                return names.size() - 1;
+            });
+        }
+    }
+
+    public String nameOf(int nameCode) {
+        return names.get(nameCode);
+    }
+
+    // Item names in code order (index = name code)
+    public List<String> getNames() {
+        return new ArrayList<>(names);
+    }
+
+    // Reattaches to records kept in the file by a previous run, with the name table they were
+    // written with (see OrderSnapshot)
+    public synchronized void restore(long highestSequence, List<String> restoredNames) {
+        if (this.highestSequence.get() != 0 || !names.isEmpty()) {
+            throw new IllegalStateException("Order history already in use");
+        }
+        for (String name : restoredNames) {
+            codeFor(name);
+        }
+        if (highestSequence > 0) {
+            segment((highestSequence - 1) / SEGMENT_RECORDS);
+        }
+        this.highestSequence.set(highestSequence);
+    }
+
+    // Writes the record for an order; sequences start at 1 and each slot is written once
+    public void record(long sequence, long timestampMillis, int itemId, String itemName, long priceCents,
+                       int modifiers) {
+        long index = sequence - 1;
+        MappedByteBuffer segment = segment(index / SEGMENT_RECORDS);
+        int offset = (int) (index % SEGMENT_RECORDS) * RECORD_SIZE;
+
+        segment.putLong(offset + TIMESTAMP, timestampMillis);
+        segment.putLong(offset + PRICE, priceCents);
+        segment.putInt(offset + NAME_CODE, codeFor(itemName));
+        segment.putShort(offset + ITEM_ID, (short) itemId);
+        segment.putShort(offset + MODIFIERS, (short) modifiers);
+        LONG_VIEW.setRelease(segment, offset + SEQUENCE, sequence);
+
+        highestSequence.accumulateAndGet(sequence, Math::max);
+    }
+
+    public long getHighestSequence() {
+        return highestSequence.get();
+    }
+
+    // Whether the record for this order has been completely written
+    public boolean isRecorded(long sequence) {
+        long index = sequence - 1;
+        MappedByteBuffer[] current = segments;
+        if (index < 0 || index / SEGMENT_RECORDS >= current.length) {
+            return false;
+        }
+        int offset = (int) (index % SEGMENT_RECORDS) * RECORD_SIZE;
+        return (long) LONG_VIEW.getAcquire(current[(int) (index / SEGMENT_RECORDS)], offset + SEQUENCE) == sequence;
+    }
+
+    // Visits the orders numbered fromSequence..toSequence (inclusive) that have been recorded
+    public void forEach(long fromSequence, long toSequence, RecordVisitor visitor) {
+        long last = Math.min(toSequence, highestSequence.get());
+        for (long sequence = Math.max(1, fromSequence); sequence <= last; sequence++) {
+            long index = sequence - 1;
+            MappedByteBuffer segment = segments[(int) (index / SEGMENT_RECORDS)];
+            int offset = (int) (index % SEGMENT_RECORDS) * RECORD_SIZE;
+            long stored = (long) LONG_VIEW.getAcquire(segment, offset + SEQUENCE);
+            if (stored == 0) {
+                continue; // number reserved but the order is still being written
+            }
+            visitor.visit(stored,
+                    segment.getLong(offset + TIMESTAMP),
+                    segment.getShort(offset + ITEM_ID),
+                    segment.getInt(offset + NAME_CODE),
+                    segment.getLong(offset + PRICE),
+                    segment.getShort(offset + MODIFIERS) & 0xFFFF);
+        }
+    }
+
+    // Visits the orders placed between the two instants (inclusive)
+    public void forEachBetween(long fromMillis, long toMillis, RecordVisitor visitor) {
+        forEach(1, Long.MAX_VALUE, (sequence, timestamp, itemId, nameCode, priceCents, modifiers) -> {
+            if (timestamp >= fromMillis && timestamp <= toMillis) {
+                visitor.visit(sequence, timestamp, itemId, nameCode, priceCents, modifiers);
+            }
+        });
+    }
+
+    private MappedByteBuffer segment(long segmentIndex) {
+        MappedByteBuffer[] current = segments;
+        if (segmentIndex < current.length) {
+            return current[(int) segmentIndex];
+        }
+        synchronized (this) {
+            current = segments;
+            if (segmentIndex >= current.length) {
+                MappedByteBuffer[] grown = new MappedByteBuffer[(int) segmentIndex + 1];
+                System.arraycopy(current, 0, grown, 0, current.length);
+                try {
+                    for (int i = current.length; i < grown.length; i++) {
+                        grown[i] = channel.map(FileChannel.MapMode.READ_WRITE, i * SEGMENT_BYTES, SEGMENT_BYTES);
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Could not extend order history file", e);
+                }
+                segments = grown;
+                current = grown;
+            }
+            return current[(int) segmentIndex];
+        }
+    }
+
+    // Writes the mapped records through to the file
+    public void force() {
+        for (MappedByteBuffer segment : segments) {
+            segment.force();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,297 @@
+package utilities;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+// Append-only write-ahead journal of placed orders.
+// Orders are appended to an in-memory buffer; a background thread writes the buffer out and
+// fsyncs it every few milliseconds (group commit), so one fsync covers many orders.
+// append() returns the end position of the record, and sync(position) waits for the commit
+// that covers it, so a caller can hold back its own bookkeeping until the order is durable.
+// append() never waits for buffer space (the buffer grows instead), so a caller holding the
+// journal's monitor can number its orders and append them in one step, in sequence order.
+//
+// Record layout: [sequence:8][timestamp millis:8][price cents:8][item id:4][modifiers:4]
+//                [name length:2][name UTF-8][CRC-32:4]
+// The CRC covers the rest of the record; a record that fails it ends the journal on replay.
+public class OrderJournal implements AutoCloseable {
+    private static final int HEADER_SIZE = 34;
+    private static final int CRC_SIZE = 4;
+    private static final int BUFFER_SIZE = 256 * 1024;
+
+    // Receives each record found while replaying a journal; returning false stops the replay
+    // before that record
+    public interface Replayer {
+        boolean apply(long sequence, long timestampMillis, int itemId, String itemName, long priceCents, int modifiers);
+    }
+
+    private final FileChannel channel;
+    private final long flushIntervalMillis;
+    private final Thread flusher;
+
+    // Appenders fill "pending" while the flusher writes "writing" out (double buffering)
+    private ByteBuffer pending = ByteBuffer.allocate(BUFFER_SIZE);
+    private ByteBuffer writing = ByteBuffer.allocate(BUFFER_SIZE);
+    private long appendedBytes;
+    private long durableBytes;
+    private long pendingFirstSequence;
+    private long firstLostSequence;
+    private boolean flushRequested;
+    private boolean closed;
+    private IOException failure;
+    private final CRC32 checksum = new CRC32();
+
+    private OrderJournal(FileChannel channel, long flushIntervalMillis) throws IOException {
+        this.channel = channel;
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.appendedBytes = channel.size();
+        this.durableBytes = appendedBytes;
+        this.flusher = new Thread(this::flushLoop, "order-journal-flusher");
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+    }
+
+    // Replays the existing journal (if any) from the given position into the replayer, drops a
+    // torn record left by a crash, and returns the journal ready for appending
+    public static OrderJournal open(Path file, long flushIntervalMillis, long fromPosition, Replayer replayer)
+            throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        if (fromPosition > channel.size()) {
+            channel.close();
+            throw new IOException("Journal " + file + " is shorter (" + channel.size()
+                    + " bytes) than the replay start position " + fromPosition);
+        }
+        long validEnd = replay(channel, fromPosition, Long.MAX_VALUE, replayer);
+        if (validEnd < channel.size()) {
+            channel.truncate(validEnd);
+        }
+        channel.position(validEnd);
+        return new OrderJournal(channel, flushIntervalMillis);
+    }
+
+    // Reads records between the two positions and returns the position after the last complete,
+    // intact one
+    public static long replay(FileChannel channel, long fromPosition, long toPosition, Replayer replayer)
+            throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        CRC32 checksum = new CRC32();
+        long position = fromPosition;
+        long readPosition = fromPosition;
+        buffer.limit(0);
+        while (true) {
+            if (buffer.remaining() < HEADER_SIZE || buffer.remaining() < recordSize(buffer)) {
+                buffer.compact();
+                buffer.limit((int) Math.min(buffer.capacity(), buffer.position() + (toPosition - readPosition)));
+                int read = channel.read(buffer, readPosition);
+                buffer.limit(buffer.capacity());
+                buffer.flip();
+                if (read <= 0) {
+                    return position; // end of file, possibly with a torn record left over
+                }
+                readPosition += read;
+                continue;
+            }
+            int start = buffer.position();
+            int size = recordSize(buffer);
+            checksum.reset();
+            checksum.update(buffer.array(), start, size - CRC_SIZE);
+            if ((int) checksum.getValue() != buffer.getInt(start + size - CRC_SIZE)) {
+                return position; // damaged record: nothing after it can be trusted
+            }
+            long sequence = buffer.getLong();
+            long timestamp = buffer.getLong();
+            long priceCents = buffer.getLong();
+            int itemId = buffer.getInt();
+            int modifiers = buffer.getInt();
+            int nameLength = buffer.getShort() & 0xFFFF;
+            String name = new String(buffer.array(), buffer.position(), nameLength, StandardCharsets.UTF_8);
+            buffer.position(start + size);
+            if (!replayer.apply(sequence, timestamp, itemId, name, priceCents, modifiers)) {
+                return position;
+            }
+            position += size;
+        }
+    }
+
+    private static int recordSize(ByteBuffer buffer) {
+        int nameLength = buffer.getShort(buffer.position() + HEADER_SIZE - 2) & 0xFFFF;
+        return HEADER_SIZE + nameLength + CRC_SIZE;
+    }
+
+    // Item names are encoded before taking any lock; this is also where an over-long name is rejected
+    public static byte[] encodeName(String itemName) {
+        byte[] name = itemName.getBytes(StandardCharsets.UTF_8);
+        if (name.length > 0xFFFF) {
+            throw new IllegalArgumentException("Item name too long for the journal: " + name.length + " bytes");
+        }
+        return name;
+    }
+
+    // Queues a record and returns the journal position it ends at; it becomes durable with the
+    // next group commit (see sync(long)). Fails only when the journal is closed or has failed.
+    public synchronized long append(long sequence, long timestampMillis, int itemId, byte[] name,
+                                    long priceCents, int modifiers) {
+        checkOpen();
+        int size = HEADER_SIZE + name.length + CRC_SIZE;
+        if (pending.remaining() < size) {
+            ByteBuffer grown = ByteBuffer.allocate(Math.max(pending.capacity() * 2, pending.position() + size));
+            pending.flip();
+            grown.put(pending);
+            pending = grown;
+            requestFlush();
+        }
+        if (pending.position() == 0) {
+            pendingFirstSequence = sequence;
+            notifyAll(); // first record of a new group: wake the flusher
+        }
+        int start = pending.position();
+        pending.putLong(sequence)
+                .putLong(timestampMillis)
+                .putLong(priceCents)
+                .putInt(itemId)
+                .putInt(modifiers)
+                .putShort((short) name.length)
+                .put(name);
+        checksum.reset();
+        checksum.update(pending.array(), start, size - CRC_SIZE);
+        pending.putInt((int) checksum.getValue());
+        appendedBytes += size;
+        return appendedBytes;
+    }
+
+    // Blocks until every record appended so far has been written and fsynced
+    public synchronized void sync() throws IOException {
+        sync(appendedBytes);
+    }
+
+    // Blocks until the journal is durable up to the given position (as returned by append)
+    public synchronized void sync(long position) throws IOException {
+        while (durableBytes < position) {
+            if (failure != null) {
+                throw failure;
+            }
+            requestFlush();
+            waitQuietly();
+        }
+    }
+
+    public synchronized long getDurablePosition() {
+        return durableBytes;
+    }
+
+    // After a failure: the first order the journal could not make durable (every later one is lost
+    // too). Records are numbered and appended in order, so the orders before it are all durable.
+    public synchronized long getFirstLostSequence() {
+        return firstLostSequence;
+    }
+
+    private void flushLoop() {
+        while (true) {
+            ByteBuffer batch;
+            long batchEnd;
+            long batchFirstSequence;
+            synchronized (this) {
+                while (pending.position() == 0 && !closed) {
+                    waitQuietly();
+                }
+                if (pending.position() == 0) {
+                    notifyAll();
+                    return; // closed and fully drained
+                }
+                if (!closed && !flushRequested) {
+                    // Give other appenders a short window to join this commit
+                    try {
+                        wait(flushIntervalMillis);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                batch = pending;
+                pending = writing.capacity() == BUFFER_SIZE ? writing : ByteBuffer.allocate(BUFFER_SIZE);
+                writing = batch;
+                batchEnd = appendedBytes;
+                batchFirstSequence = pendingFirstSequence;
+                flushRequested = false;
+                notifyAll();
+            }
+
+            try {
+                batch.flip();
+                while (batch.hasRemaining()) {
+                    channel.write(batch);
+                }
+                channel.force(false);
+            } catch (IOException e) {
+                try {
+                    channel.truncate(durableBytes); // keep the lost orders from coming back on replay
+                } catch (IOException truncateFailure) {
+                    e.addSuppressed(truncateFailure);
+                }
+                synchronized (this) {
+                    failure = e;
+                    firstLostSequence = batchFirstSequence;
+                    closed = true;
+                    notifyAll();
+                }
+                return;
+            } finally {
+                batch.clear();
+            }
+
+            synchronized (this) {
+                durableBytes = batchEnd;
+                notifyAll();
+            }
+        }
+    }
+
+    // Asks the flusher to commit now instead of waiting for the rest of its group window
+    private void requestFlush() {
+        if (!flushRequested) {
+            flushRequested = true;
+            notifyAll();
+        }
+    }
+
+    private void checkOpen() {
+        if (failure != null) {
+            throw new UncheckedIOException("Order journal failed", failure);
+        }
+        if (closed) {
+            throw new IllegalStateException("Order journal is closed");
+        }
+    }
+
+    private void waitQuietly() {
+        try {
+            wait();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Flushes everything still pending, then closes the file
+    @Override
+    public void close() throws IOException {
+        synchronized (this) {
+            closed = true;
+            notifyAll();
+        }
+        try {
+            flusher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        channel.close();
+        if (failure != null) {
+            throw failure;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package utilities;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+
+// Aggregate state of the order system as of a position in the order journal.
+// On startup the latest snapshot is loaded and only the journal after that position is replayed.
+//
+// File layout: [magic:4][version:4][journal position:8][highest sequence:8][order count:8]
+//              [revenue cents:8][item count:4] then per catalog item id: [tally:8]
+//              [name count:4] then per history name code: [name UTF]
+public class OrderSnapshot {
+    private static final int MAGIC = 0x4F524453; // "ORDS"
+    private static final int VERSION = 3;
+
+    private final long journalPosition;
+    private final long highestSequence;
+    private final long orderCount;
+    private final long revenueCents;
+    private final long[] itemTallies;
+    private final List<String> itemNames;
+
+    public OrderSnapshot(long journalPosition, long highestSequence, long orderCount, long revenueCents,
+                         long[] itemTallies, List<String> itemNames) {
+        this.journalPosition = journalPosition;
+        this.highestSequence = highestSequence;
+        this.orderCount = orderCount;
+        this.revenueCents = revenueCents;
+        this.itemTallies = itemTallies;
+        this.itemNames = itemNames;
+    }
+
+    // Writes to a temporary file first and renames it, so a crash never leaves a half-written snapshot
+    public void writeTo(Path file) throws IOException {
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(journalPosition);
+            out.writeLong(highestSequence);
+            out.writeLong(orderCount);
+            out.writeLong(revenueCents);
+            out.writeInt(itemTallies.length);
+            for (long tally : itemTallies) {
+                out.writeLong(tally);
+            }
+            out.writeInt(itemNames.size());
+            for (String name : itemNames) {
+                out.writeUTF(name);
+            }
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    // Returns null when there is no snapshot yet
+    public static OrderSnapshot readFrom(Path file) throws IOException {
+        if (!Files.exists(file)) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException(file + " is not an order snapshot");
+            }
+            int version = in.readInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported order snapshot version " + version);
+            }
+            long journalPosition = in.readLong();
+            long highestSequence = in.readLong();
+            long orderCount = in.readLong();
+            long revenueCents = in.readLong();
+            int itemCount = in.readInt();
+            long[] itemTallies = new long[itemCount];
+            for (int i = 0; i < itemCount; i++) {
+                itemTallies[i] = in.readLong();
+            }
+            int nameCount = in.readInt();
+            List<String> itemNames = new ArrayList<>(nameCount);
+            for (int i = 0; i < nameCount; i++) {
+                itemNames.add(in.readUTF());
+            }
+            return new OrderSnapshot(journalPosition, highestSequence, orderCount, revenueCents,
+                    itemTallies, itemNames);
+        }
+    }
+
+    public long getJournalPosition() {
+        return journalPosition;
+    }
+
+    public long getHighestSequence() {
+        return highestSequence;
+    }
+
+    public long getOrderCount() {
+        return orderCount;
+    }
+
+    public long getRevenueCents() {
+        return revenueCents;
+    }
+
+    // Orders per catalog item id
+    public long[] getItemTallies() {
+        return itemTallies;
+    }
+
+    // The order history's name table (index = name code)
+    public List<String> getItemNames() {
+        return itemNames;
+    }
+}
@@ -0,0 +1,107 @@
+package utilities;
+
+import domain.catalog.MenuCatalog;
+import utilities.logging.EventLog;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Periodically writes an OrderSnapshot in the background.
+// Instead of stopping placeOrder to read live counters, it tails the durable part of the
+// order journal and folds each new record into its own aggregate, so every snapshot is
+// exactly consistent with the journal position it records.
+// Orders are journaled before they reach the history, so the tail stops at the first order
+// whose history record is not written yet: a snapshot never covers an order the history
+// file might still be missing after a crash.
+public class OrderSnapshotter implements AutoCloseable {
+    private final Path snapshotFile;
+    private final FileChannel journalReader;
+    private final OrderJournal journal;
+    private final OrderHistoryStore history;
+    private final ScheduledExecutorService scheduler;
+
+    // Aggregate of the journal up to "position" (guarded by this)
+    private long position;
+    private long highestSequence;
+    private long orderCount;
+    private long revenueCents;
+    private long[] itemTallies;
+
+    public OrderSnapshotter(Path snapshotFile, Path journalFile, OrderJournal journal,
+                            OrderHistoryStore history, OrderSnapshot startFrom) throws IOException {
+        this.snapshotFile = snapshotFile;
+        this.journalReader = FileChannel.open(journalFile, StandardOpenOption.READ);
+        this.journal = journal;
+        this.history = history;
+        if (startFrom != null) {
+            this.position = startFrom.getJournalPosition();
+            this.highestSequence = startFrom.getHighestSequence();
+            this.orderCount = startFrom.getOrderCount();
+            this.revenueCents = startFrom.getRevenueCents();
+            this.itemTallies = Arrays.copyOf(startFrom.getItemTallies(), MenuCatalog.ITEM_COUNT);
+        } else {
+            this.itemTallies = new long[MenuCatalog.ITEM_COUNT];
+        }
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "order-snapshotter");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public void start(long intervalMillis) {
+        scheduler.scheduleWithFixedDelay(() -> {
+            // Anything escaping here would silently cancel the schedule, so log it and try again next time
+            try {
+                takeSnapshot();
+            } catch (IOException | RuntimeException e) {
+                EventLog.log("Order snapshot failed: " + e);
+            }
+        }, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public synchronized OrderSnapshot takeSnapshot() throws IOException {
+        position = OrderJournal.replay(journalReader, position, journal.getDurablePosition(), this::accumulate);
+
+        // The history records of every order up to that position must reach the disk first
+        history.force();
+        OrderSnapshot snapshot = new OrderSnapshot(position, highestSequence, orderCount, revenueCents,
+                itemTallies.clone(), history.getNames());
+        snapshot.writeTo(snapshotFile);
+        return snapshot;
+    }
+
+    private boolean accumulate(long sequence, long timestampMillis, int itemId, String itemName, long priceCents,
+                               int modifiers) {
+        if (!history.isRecorded(sequence)) {
+            return false; // not applied yet: the next snapshot picks it up
+        }
+        highestSequence = Math.max(highestSequence, sequence);
+        orderCount++;
+        revenueCents += priceCents;
+        itemTallies[itemId]++;
+        return true;
+    }
+
+    // Stops the schedule and writes a final snapshot
+    @Override
+    public void close() throws IOException {
+        scheduler.shutdown();
+        try {
+            scheduler.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            takeSnapshot();
+        } finally {
+            journalReader.close();
+        }
+    }
+}
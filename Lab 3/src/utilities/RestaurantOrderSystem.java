@@ -1,39 +1,73 @@
 package utilities;
 
 import domain.composite.MealComponent;
+import domain.observer.AsyncOrderObserver;
+import domain.observer.BackpressurePolicy;
 import domain.observer.OrderObserver;
 import domain.strategy.PaymentStrategy;
+import utilities.logging.EventLog;
+import utilities.logging.LogEvent;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 
 public class RestaurantOrderSystem {
 
-    // Static instance variable
-    private static RestaurantOrderSystem instance;
+    // Holder idiom: the JVM initializes the instance lazily and exactly once, without locking
+    private static class Holder {
+        private static final RestaurantOrderSystem INSTANCE = new RestaurantOrderSystem();
+    }
 
     // Order management - Updated to use MealComponent to support Decorators/Combos
-    private List<MealComponent> orderHistory;
-    private int totalOrders;
-    private double totalRevenue;
+    // All state is safe to update from many POS terminals at once
+    // History is stored as compact off-heap records, so heap use stays flat as orders pile up
+    private volatile OrderHistoryStore orderHistory;
+    private final AtomicInteger orderSequence;
+    private final LongAdder revenueCents;
+    private final SalesAnalytics salesAnalytics;
+
+    // Optional durable write-ahead journal (see openJournal)
+    private static final long JOURNAL_COMMIT_INTERVAL_MILLIS = 5;
+    private volatile OrderJournal journal;
+
+    // Optional periodic snapshots (see openPersistentStore)
+    private static final long SNAPSHOT_INTERVAL_MILLIS = 60_000;
+    private OrderSnapshotter snapshotter;
 
     // OBSERVER PATTERN: List of subscribers (Kitchen, Accounting, etc.)
-    private List<OrderObserver> observers;
+    private final List<OrderObserver> observers;
 
     // Private constructor
     private RestaurantOrderSystem() {
-        this.orderHistory = new ArrayList<>();
-        this.observers = new ArrayList<>();
-        this.totalOrders = 0;
-        this.totalRevenue = 0.0;
+        this(OrderHistoryStore.createTemporary());
+    }
+
+    private RestaurantOrderSystem(OrderHistoryStore orderHistory) {
+        this.orderHistory = orderHistory;
+        this.observers = new CopyOnWriteArrayList<>();
+        this.orderSequence = new AtomicInteger();
+        this.revenueCents = new LongAdder();
+        this.salesAnalytics = new SalesAnalytics();
     }
 
     // Static method to get the single instance
     public static RestaurantOrderSystem getInstance() {
-        if (instance == null) {
-            instance = new RestaurantOrderSystem();
-        }
-        return instance;
+        return Holder.INSTANCE;
+    }
+
+    // A separate order system that keeps its history in the given directory, for benchmarks and
+    // tools that must not add orders to the shared instance. Close it when done.
+    public static RestaurantOrderSystem create(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        return new RestaurantOrderSystem(new OrderHistoryStore(directory.resolve("orders.history")));
     }
 
     // OBSERVER PATTERN: Attach a new observer
@@ -41,6 +75,21 @@ public class RestaurantOrderSystem {
         observers.add(observer);
     }
 
+    // OBSERVER PATTERN (event-bus mode): The observer gets its own queue and thread,
+    // so a slow observer no longer delays placeOrder for everyone else
+    public AsyncOrderObserver attachAsync(OrderObserver observer, int queueCapacity, BackpressurePolicy policy) {
+        AsyncOrderObserver asyncObserver = new AsyncOrderObserver(observer, queueCapacity, policy);
+        observers.add(asyncObserver);
+        return asyncObserver;
+    }
+
+    // OBSERVER PATTERN: Detach an observer (asynchronous observers are drained and stopped)
+    public void detach(OrderObserver observer) throws InterruptedException {
+        if (observers.remove(observer) && observer instanceof AsyncOrderObserver) {
+            ((AsyncOrderObserver) observer).close();
+        }
+    }
+
     // OBSERVER PATTERN: Notify all observers when an order is placed
     private void notifyObservers(MealComponent meal) {
         for (OrderObserver observer : observers) {
@@ -48,47 +97,260 @@ public class RestaurantOrderSystem {
         }
     }
 
+    // OBSERVER PATTERN: Notify all observers once for a whole batch of orders
+    private void notifyObservers(List<MealComponent> meals) {
+        for (OrderObserver observer : observers) {
+            observer.updateBatch(meals);
+        }
+    }
+
     // STRATEGY PATTERN: Process payment using a supplied strategy
     public void processPayment(PaymentStrategy strategy) {
-        System.out.println("\n--- Processing Payment ---");
+        EventLog.log("\n--- Processing Payment ---");
         // Pass the total calculated revenue to the payment strategy
-        strategy.pay(this.totalRevenue);
-        System.out.println("--------------------------");
+        strategy.pay(getTotalRevenueCents());
+        EventLog.log("--------------------------");
     }
 
     // Place an order - Accepts MealComponent to handle both simple Meals and Decorated Meals
+    // With a journal open, the order is journaled and durable before anything else sees it
     public void placeOrder(MealComponent meal) {
-        orderHistory.add(meal);
-        totalOrders++;
-        totalRevenue += meal.getPrice();
+        long priceCents = meal.getPriceCents();
+        long now = System.currentTimeMillis();
+        int orderNumber;
+        OrderJournal currentJournal = journal;
+        if (currentJournal != null) {
+            byte[] name = OrderJournal.encodeName(meal.getName());
+            long end;
+            // Numbers are taken under the journal's monitor, so records are journaled in order
+            synchronized (currentJournal) {
+                orderNumber = orderSequence.incrementAndGet();
+                try {
+                    end = currentJournal.append(orderNumber, now, meal.getItemId(), name, priceCents,
+                            meal.getModifiers());
+                } catch (RuntimeException e) {
+                    orderSequence.compareAndSet(orderNumber, orderNumber - 1);
+                    throw e;
+                }
+            }
+            awaitDurable(currentJournal, end);
+        } else {
+            orderNumber = orderSequence.incrementAndGet();
+        }
+        revenueCents.add(priceCents);
+        orderHistory.record(orderNumber, now, meal.getItemId(), meal.getName(), priceCents, meal.getModifiers());
+        salesAnalytics.record(meal.getItemId(), priceCents, now);
 
-        System.out.println("Order #" + totalOrders + " placed: " + meal.getName());
+        EventLog.log(LogEvent.ORDER_PLACED, orderNumber, meal.getName());
 
         // Notify the kitchen/displays (Observer Pattern)
         notifyObservers(meal);
 
-        System.out.println("===============");
+        EventLog.log("===============");
+    }
+
+    // Place several orders at once (group commit): order numbers are reserved as one block,
+    // totals are updated once and observers are notified once for the whole batch
+    public void placeOrders(Collection<? extends MealComponent> meals) {
+        if (meals.isEmpty()) {
+            return;
+        }
+        List<MealComponent> batch = new ArrayList<>(meals);
+        int firstOrderNumber;
+
+        long now = System.currentTimeMillis();
+        long[] prices = new long[batch.size()];
+        String[] names = new String[batch.size()];
+        for (int i = 0; i < batch.size(); i++) {
+            prices[i] = batch.get(i).getPriceCents();
+            names[i] = batch.get(i).getName();
+        }
+        OrderJournal currentJournal = journal;
+        if (currentJournal != null) {
+            byte[][] encodedNames = new byte[batch.size()][];
+            for (int i = 0; i < batch.size(); i++) {
+                encodedNames[i] = OrderJournal.encodeName(names[i]);
+            }
+            long end = 0;
+            synchronized (currentJournal) {
+                firstOrderNumber = orderSequence.getAndAdd(batch.size()) + 1;
+                try {
+                    for (int i = 0; i < batch.size(); i++) {
+                        MealComponent meal = batch.get(i);
+                        end = currentJournal.append(firstOrderNumber + i, now, meal.getItemId(), encodedNames[i],
+                                prices[i], meal.getModifiers());
+                    }
+                } catch (RuntimeException e) {
+                    // Only the first append can fail: the journal cannot close while its monitor is held
+                    orderSequence.compareAndSet(firstOrderNumber + batch.size() - 1, firstOrderNumber - 1);
+                    throw e;
+                }
+            }
+            awaitDurable(currentJournal, end); // one commit covers the whole batch
+        } else {
+            firstOrderNumber = orderSequence.getAndAdd(batch.size()) + 1;
+        }
+        long batchCents = 0;
+        for (int i = 0; i < batch.size(); i++) {
+            MealComponent meal = batch.get(i);
+            batchCents += prices[i];
+            orderHistory.record(firstOrderNumber + i, now, meal.getItemId(), names[i], prices[i],
+                    meal.getModifiers());
+            salesAnalytics.record(meal.getItemId(), prices[i], now);
+        }
+        revenueCents.add(batchCents);
+
+        for (int i = 0; i < batch.size(); i++) {
+            EventLog.log(LogEvent.ORDER_PLACED, firstOrderNumber + i, names[i]);
+        }
+
+        // Notify the kitchen/displays once (Observer Pattern)
+        notifyObservers(batch);
+
+        EventLog.log("===============");
+    }
+
+    // Opens (or creates) the order journal at startup: orders recorded in it by a previous run are
+    // restored into the counters and history, and every new order is appended to it from now on
+    public synchronized void openJournal(Path file) throws IOException {
+        if (journal != null) {
+            throw new IllegalStateException("Order journal is already open");
+        }
+        if (orderSequence.get() != 0) {
+            throw new IllegalStateException("The journal must be opened before any order is placed");
+        }
+        journal = OrderJournal.open(file, JOURNAL_COMMIT_INTERVAL_MILLIS, 0, this::restoreOrder);
+    }
+
+    // Keeps history, journal and snapshots in the given directory. Startup loads the latest
+    // snapshot, reattaches the history file and replays only the journal written after it.
+    public synchronized void openPersistentStore(Path directory) throws IOException {
+        if (journal != null) {
+            throw new IllegalStateException("Order journal is already open");
+        }
+        if (orderSequence.get() != 0) {
+            throw new IllegalStateException("The store must be opened before any order is placed");
+        }
+        Files.createDirectories(directory);
+        Path snapshotFile = directory.resolve("orders.snapshot");
+        Path journalFile = directory.resolve("orders.journal");
+
+        OrderSnapshot snapshot = OrderSnapshot.readFrom(snapshotFile);
+        OrderHistoryStore history = new OrderHistoryStore(directory.resolve("orders.history"));
+        long replayFrom = 0;
+        if (snapshot != null) {
+            history.restore(snapshot.getHighestSequence(), snapshot.getItemNames());
+            orderSequence.set((int) snapshot.getHighestSequence());
+            revenueCents.add(snapshot.getRevenueCents());
+            replayFrom = snapshot.getJournalPosition();
+
+            // Orders the snapshot covers that still fall inside the analytics windows
+            long now = System.currentTimeMillis();
+            history.forEachBetween(now - SalesWindow.LAST_HOUR.getSeconds() * 1000L, now,
+                    (sequence, timestamp, itemId, nameCode, priceCents, modifiers) ->
+                            salesAnalytics.record(itemId, priceCents, timestamp));
+        }
+        OrderHistoryStore temporary = orderHistory;
+        orderHistory = history;
+        temporary.close();
+
+        journal = OrderJournal.open(journalFile, JOURNAL_COMMIT_INTERVAL_MILLIS, replayFrom, this::restoreOrder);
+        snapshotter = new OrderSnapshotter(snapshotFile, journalFile, journal, history, snapshot);
+        snapshotter.start(SNAPSHOT_INTERVAL_MILLIS);
+    }
+
+    private boolean restoreOrder(long sequence, long timestampMillis, int itemId, String itemName, long priceCents,
+                                 int modifiers) {
+        orderSequence.accumulateAndGet((int) sequence, Math::max);
+        revenueCents.add(priceCents);
+        orderHistory.record(sequence, timestampMillis, itemId, itemName, priceCents, modifiers);
+        salesAnalytics.record(itemId, priceCents, timestampMillis);
+        return true;
+    }
+
+    private void awaitDurable(OrderJournal currentJournal, long position) {
+        try {
+            currentJournal.sync(position);
+        } catch (IOException e) {
+            // The failed commit lost this order and every one numbered after it; their numbers go back
+            // (no new number can be taken while the journal's monitor is held)
+            synchronized (currentJournal) {
+                orderSequence.set((int) currentJournal.getFirstLostSequence() - 1);
+            }
+            throw new UncheckedIOException("Order journal failed", e);
+        }
+    }
+
+    // Waits until every order placed so far is safely on disk
+    public void syncJournal() throws IOException {
+        OrderJournal currentJournal = journal;
+        if (currentJournal != null) {
+            currentJournal.sync();
+        }
+    }
+
+    public synchronized void closeJournal() throws IOException {
+        if (journal != null) {
+            if (snapshotter != null) {
+                journal.sync();
+                snapshotter.close();
+                snapshotter = null;
+            }
+            journal.close();
+            journal = null;
+        }
+    }
+
+    // Closes the journal (if open) and the history file; the system cannot take orders afterwards
+    public synchronized void close() throws IOException {
+        closeJournal();
+        orderHistory.close();
     }
 
     // Get order history
     public void displayOrderHistory() {
-        System.out.println("ORDER HISTORY");
-        if (orderHistory.isEmpty()) {
-            System.out.println("No orders yet!");
+        displayOrderHistory(1, Long.MAX_VALUE);
+    }
+
+    // Display the orders numbered from..to (inclusive)
+    public void displayOrderHistory(long fromOrder, long toOrder) {
+        EventLog.log("ORDER HISTORY");
+        if (orderHistory.getHighestSequence() == 0) {
+            EventLog.log("No orders yet!");
         } else {
-            for (int i = 0; i < orderHistory.size(); i++) {
-                System.out.println((i + 1) + ". " + orderHistory.get(i).getName() +
-                        " - $" + String.format("%.2f", orderHistory.get(i).getPrice()));
-            }
+            StringBuilder lines = new StringBuilder();
+            orderHistory.forEach(fromOrder, toOrder, (sequence, timestamp, itemId, nameCode, priceCents, modifiers) -> {
+                if (lines.length() > 0) {
+                    lines.append(System.lineSeparator());
+                }
+                lines.append(sequence).append(". ").append(orderHistory.nameOf(nameCode)).append(" - $");
+                Money.appendTo(lines, priceCents);
+            });
+            EventLog.log(lines.toString());
         }
-        System.out.println("===============");
+        EventLog.log("===============");
+    }
+
+    // Range queries over the recorded orders (by order number or by time)
+    public OrderHistoryStore getOrderHistory() {
+        return orderHistory;
+    }
+
+    // Per-item and per-category sales over the last minute / 5 minutes / hour
+    public SalesAnalytics getSalesAnalytics() {
+        return salesAnalytics;
     }
 
     public int getTotalOrders() {
-        return totalOrders;
+        return orderSequence.get();
+    }
+
+    // Revenue is accumulated in whole cents so concurrent additions never lose precision
+    public long getTotalRevenueCents() {
+        return revenueCents.sum();
     }
 
     public double getTotalRevenue() {
-        return totalRevenue;
+        return Money.toDollars(getTotalRevenueCents());
     }
 }
\ No newline at end of file
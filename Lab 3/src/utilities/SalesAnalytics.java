@@ -0,0 +1,112 @@
+package utilities;
+
+import domain.catalog.Category;
+import domain.catalog.MenuCatalog;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Real-time sales per menu item and per category over sliding windows.
+// Orders are counted into time-bucketed ring counters held in primitive arrays: per-second
+// buckets cover the last 5 minutes and per-minute buckets cover the last hour. Recording an
+// order allocates nothing, and a window query sums at most one ring (O(buckets)).
+public class SalesAnalytics {
+    private static final int KEYS = MenuCatalog.ITEM_COUNT + Category.values().length;
+
+    private final Ring seconds = new Ring(1000, 5 * 60);
+    private final Ring minutes = new Ring(60 * 1000, 60);
+
+    public void record(int itemId, long priceCents, long timestampMillis) {
+        int categoryKey = MenuCatalog.ITEM_COUNT + MenuCatalog.categoryOf(itemId).ordinal();
+        seconds.add(itemId, categoryKey, priceCents, timestampMillis);
+        minutes.add(itemId, categoryKey, priceCents, timestampMillis);
+    }
+
+    public long getOrderCount(int itemId, SalesWindow window) {
+        return ringFor(window).sum(itemId, window, System.currentTimeMillis(), false);
+    }
+
+    public long getRevenueCents(int itemId, SalesWindow window) {
+        return ringFor(window).sum(itemId, window, System.currentTimeMillis(), true);
+    }
+
+    public long getOrderCount(Category category, SalesWindow window) {
+        return ringFor(window).sum(MenuCatalog.ITEM_COUNT + category.ordinal(), window,
+                System.currentTimeMillis(), false);
+    }
+
+    public long getRevenueCents(Category category, SalesWindow window) {
+        return ringFor(window).sum(MenuCatalog.ITEM_COUNT + category.ordinal(), window,
+                System.currentTimeMillis(), true);
+    }
+
+    private Ring ringFor(SalesWindow window) {
+        return window.getSeconds() <= seconds.span() ? seconds : minutes;
+    }
+
+    // Ring of time buckets; each bucket has one count and one revenue cell per key
+    private static class Ring {
+        private final long bucketMillis;
+        private final int buckets;
+        private final AtomicLongArray epochs;
+        private final AtomicLongArray counts;
+        private final AtomicLongArray revenue;
+
+        Ring(long bucketMillis, int buckets) {
+            this.bucketMillis = bucketMillis;
+            this.buckets = buckets;
+            this.epochs = new AtomicLongArray(buckets);
+            this.counts = new AtomicLongArray(buckets * KEYS);
+            this.revenue = new AtomicLongArray(buckets * KEYS);
+            for (int i = 0; i < buckets; i++) {
+                epochs.set(i, -1);
+            }
+        }
+
+        long span() {
+            return bucketMillis / 1000 * buckets;
+        }
+
+        void add(int itemKey, int categoryKey, long priceCents, long timestampMillis) {
+            long epoch = timestampMillis / bucketMillis;
+            int bucket = (int) (epoch % buckets);
+            if (epochs.get(bucket) != epoch && !roll(bucket, epoch)) {
+                return; // older than the whole ring
+            }
+            int row = bucket * KEYS;
+            counts.incrementAndGet(row + itemKey);
+            revenue.addAndGet(row + itemKey, priceCents);
+            counts.incrementAndGet(row + categoryKey);
+            revenue.addAndGet(row + categoryKey, priceCents);
+        }
+
+        // Clears a bucket that still holds an older period; happens once per bucket period.
+        // The new epoch is published only after the cells are zeroed, so no update is lost.
+        // Returns false when the bucket already holds a newer period.
+        private synchronized boolean roll(int bucket, long epoch) {
+            long current = epochs.get(bucket);
+            if (current >= epoch) {
+                return current == epoch;
+            }
+            int row = bucket * KEYS;
+            for (int key = 0; key < KEYS; key++) {
+                counts.set(row + key, 0);
+                revenue.set(row + key, 0);
+            }
+            epochs.set(bucket, epoch);
+            return true;
+        }
+
+        long sum(int key, SalesWindow window, long nowMillis, boolean sumRevenue) {
+            long nowEpoch = nowMillis / bucketMillis;
+            long oldestEpoch = nowEpoch - window.getSeconds() * 1000L / bucketMillis + 1;
+            long total = 0;
+            for (int bucket = 0; bucket < buckets; bucket++) {
+                long epoch = epochs.get(bucket);
+                if (epoch >= oldestEpoch && epoch <= nowEpoch) {
+                    total += sumRevenue ? revenue.get(bucket * KEYS + key) : counts.get(bucket * KEYS + key);
+                }
+            }
+            return total;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package utilities;
+
+// Sliding windows supported by SalesAnalytics
+public enum SalesWindow {
+    LAST_MINUTE(60),
+    LAST_5_MINUTES(5 * 60),
+    LAST_HOUR(60 * 60);
+
+    private final int seconds;
+
+    SalesWindow(int seconds) {
+        this.seconds = seconds;
+    }
+
+    public int getSeconds() {
+        return seconds;
+    }
+}
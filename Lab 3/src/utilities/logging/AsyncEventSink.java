@@ -0,0 +1,202 @@
+package utilities.logging;
+
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Base for sinks that write on a background thread.
+// Events are copied into preallocated ring-buffer slots (parallel primitive arrays), so logging
+// allocates nothing. When the ring is full the caller waits for room (BLOCK) or the event is
+// dropped and counted (DROP), depending on the sink's OverflowPolicy.
+public abstract class AsyncEventSink implements EventSink {
+    private final LogEvent[] events;
+    private final long[] numbers;
+    private final String[] details;
+    private final long[] timestamps;
+    private final int mask;
+    private final OverflowPolicy policy;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition drained = lock.newCondition();
+    private long head;
+    private long tail;
+    private long dropped;
+    private long failed;
+    private RuntimeException lastFailure;
+    private boolean running = true;
+    private final Thread writer;
+
+    protected AsyncEventSink(int capacity, String threadName, OverflowPolicy policy) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        this.events = new LogEvent[size];
+        this.numbers = new long[size];
+        this.details = new String[size];
+        this.timestamps = new long[size];
+        this.mask = size - 1;
+        this.policy = policy;
+        this.writer = new Thread(this::drainLoop, threadName);
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    // Called on the writer thread for each event, then once per drained batch
+    protected abstract void write(long timestampMillis, LogEvent event, long number, String detail);
+
+    protected abstract void endBatch();
+
+    // Called on the writer thread after the last batch
+    protected abstract void closeOutput();
+
+    @Override
+    public void log(LogEvent event, long number, String detail) {
+        lock.lock();
+        try {
+            // The writer thread itself must never wait for its own ring to drain
+            if (policy == OverflowPolicy.BLOCK && Thread.currentThread() != writer) {
+                while (running && head - tail == events.length) {
+                    drained.awaitUninterruptibly();
+                }
+            }
+            if (!running || head - tail == events.length) {
+                dropped++;
+                return;
+            }
+            int slot = (int) (head & mask);
+            events[slot] = event;
+            numbers[slot] = number;
+            details[slot] = detail;
+            timestamps[slot] = System.currentTimeMillis();
+            if (head++ == tail) {
+                notEmpty.signal();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void drainLoop() {
+        while (true) {
+            long from;
+            long to;
+            lock.lock();
+            try {
+                while (head == tail && running) {
+                    notEmpty.awaitUninterruptibly();
+                }
+                if (head == tail) {
+                    break;
+                }
+                from = tail;
+                to = head;
+            } finally {
+                lock.unlock();
+            }
+
+            // Slots between from and to belong to this thread until tail moves past them
+            for (long sequence = from; sequence < to; sequence++) {
+                int slot = (int) (sequence & mask);
+                try {
+                    write(timestamps[slot], events[slot], numbers[slot], details[slot]);
+                } catch (RuntimeException e) {
+                    recordFailure(e);
+                }
+                details[slot] = null;
+            }
+            try {
+                endBatch();
+            } catch (RuntimeException e) {
+                recordFailure(e);
+            }
+
+            lock.lock();
+            try {
+                tail = to;
+                drained.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+        try {
+            closeOutput();
+        } catch (RuntimeException e) {
+            recordFailure(e);
+        }
+        lock.lock();
+        try {
+            drained.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void recordFailure(RuntimeException e) {
+        lock.lock();
+        try {
+            failed++;
+            lastFailure = e;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void flush() {
+        lock.lock();
+        try {
+            long target = head;
+            while (tail < target && writer.isAlive()) {
+                drained.awaitUninterruptibly();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Events dropped because the ring was full under DROP (or logged after close)
+    public long getDroppedCount() {
+        lock.lock();
+        try {
+            return dropped;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Writes (or batch flushes) that threw, e.g. because the output failed
+    public long getFailedCount() {
+        lock.lock();
+        try {
+            return failed;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // The most recent write failure, or null
+    public RuntimeException getLastFailure() {
+        lock.lock();
+        try {
+            return lastFailure;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Writes out what is queued, then stops the writer thread
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            running = false;
+            notEmpty.signal();
+            drained.signalAll(); // releases callers blocked on a full ring
+        } finally {
+            lock.unlock();
+        }
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
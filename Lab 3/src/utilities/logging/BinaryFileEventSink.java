@@ -0,0 +1,84 @@
+package utilities.logging;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// Appends events to a binary file.
+// Record layout: [timestamp millis:8][event ordinal:1][number:8][detail length:2][detail UTF-8]
+public class BinaryFileEventSink extends AsyncEventSink {
+    private static final int HEADER_SIZE = 19;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(64 * 1024);
+
+    // With OverflowPolicy.DROP, logging never waits on the disk; dropped events are counted
+    public BinaryFileEventSink(Path file, int capacity, OverflowPolicy policy) throws IOException {
+        // The file is opened before the writer thread starts, so a failed open leaves no thread behind
+        this(FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND),
+                capacity, policy);
+    }
+
+    public BinaryFileEventSink(Path file, int capacity) throws IOException {
+        this(file, capacity, OverflowPolicy.BLOCK);
+    }
+
+    private BinaryFileEventSink(FileChannel channel, int capacity, OverflowPolicy policy) {
+        super(capacity, "binary-log-writer", policy);
+        this.channel = channel;
+    }
+
+    @Override
+    protected void write(long timestampMillis, LogEvent event, long number, String detail) {
+        byte[] text = detail == null ? new byte[0] : detail.getBytes(StandardCharsets.UTF_8);
+        int length = Math.min(text.length, 0xFFFF);
+        if (buffer.remaining() < HEADER_SIZE + length) {
+            drain();
+        }
+        buffer.putLong(timestampMillis)
+                .put((byte) event.ordinal())
+                .putLong(number)
+                .putShort((short) length);
+        if (length <= buffer.remaining()) {
+            buffer.put(text, 0, length);
+        } else {
+            drain();
+            writeFully(ByteBuffer.wrap(text, 0, length));
+        }
+    }
+
+    @Override
+    protected void endBatch() {
+        drain();
+    }
+
+    @Override
+    protected void closeOutput() {
+        drain();
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void drain() {
+        buffer.flip();
+        writeFully(buffer);
+        buffer.clear();
+    }
+
+    private void writeFully(ByteBuffer source) {
+        try {
+            while (source.hasRemaining()) {
+                channel.write(source);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write log file", e);
+        }
+    }
+}
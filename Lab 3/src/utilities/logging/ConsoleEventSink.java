@@ -0,0 +1,36 @@
+package utilities.logging;
+
+import java.io.PrintStream;
+
+// Writes events as text lines to the console, one print per drained batch.
+// Console output must not lose lines, so a full ring makes the caller wait.
+public class ConsoleEventSink extends AsyncEventSink {
+    private final PrintStream out;
+    private final StringBuilder batch = new StringBuilder(4096);
+
+    public ConsoleEventSink(PrintStream out, int capacity) {
+        super(capacity, "console-log-writer", OverflowPolicy.BLOCK);
+        this.out = out;
+    }
+
+    public ConsoleEventSink() {
+        this(System.out, 8192);
+    }
+
+    @Override
+    protected void write(long timestampMillis, LogEvent event, long number, String detail) {
+        event.appendTo(batch, number, detail).append(System.lineSeparator());
+    }
+
+    @Override
+    protected void endBatch() {
+        out.append(batch);
+        out.flush();
+        batch.setLength(0);
+    }
+
+    @Override
+    protected void closeOutput() {
+        out.flush();
+    }
+}
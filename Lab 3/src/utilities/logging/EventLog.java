@@ -0,0 +1,42 @@
+package utilities.logging;
+
+// Global entry point for console-style output. Everything goes to the current sink, which
+// by default writes to the console on a background thread; queued lines are written out
+// when the JVM shuts down.
+public final class EventLog {
+    private static volatile EventSink sink = new ConsoleEventSink();
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> sink.close(), "event-log-shutdown"));
+    }
+
+    private EventLog() {
+    }
+
+    public static void log(String message) {
+        sink.log(LogEvent.MESSAGE, 0, message);
+    }
+
+    public static void log(LogEvent event, String detail) {
+        sink.log(event, 0, detail);
+    }
+
+    public static void log(LogEvent event, long number, String detail) {
+        sink.log(event, number, detail);
+    }
+
+    public static void flush() {
+        sink.flush();
+    }
+
+    // Swaps the sink; the previous one is flushed and closed
+    public static void setSink(EventSink newSink) {
+        EventSink previous = sink;
+        sink = newSink;
+        previous.close();
+    }
+
+    public static EventSink getSink() {
+        return sink;
+    }
+}
@@ -0,0 +1,14 @@
+package utilities.logging;
+
+// Destination for log events. Implementations never do I/O on the calling thread; when the
+// output falls behind, the caller either waits for room or the event is dropped and counted,
+// depending on the sink's OverflowPolicy.
+public interface EventSink extends AutoCloseable {
+    void log(LogEvent event, long number, String detail);
+
+    // Waits until everything logged so far has been written
+    void flush();
+
+    @Override
+    void close();
+}
@@ -0,0 +1,26 @@
+package utilities.logging;
+
+// Kinds of log lines. Callers pass the raw parts and the text is only put together
+// on the sink's writer thread, so logging does not build strings on the order path.
+public enum LogEvent {
+    MESSAGE,        // <detail>
+    ORDER_PLACED,   // Order #<number> placed: <detail>
+    KITCHEN_ALERT,  // [KITCHEN ALERT] New Order Received: <detail>
+    PREPARING,      // Preparing: <detail>
+    SERVING;        // Serving: <detail>
+
+    public StringBuilder appendTo(StringBuilder out, long number, String detail) {
+        switch (this) {
+            case ORDER_PLACED:
+                return out.append("Order #").append(number).append(" placed: ").append(detail);
+            case KITCHEN_ALERT:
+                return out.append("[KITCHEN ALERT] New Order Received: ").append(detail);
+            case PREPARING:
+                return out.append("Preparing: ").append(detail);
+            case SERVING:
+                return out.append("Serving: ").append(detail);
+            default:
+                return out.append(detail);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package utilities.logging;
+
+// Discards every event (benchmarks, headless terminals)
+public class NoOpEventSink implements EventSink {
+    @Override
+    public void log(LogEvent event, long number, String detail) {
+    }
+
+    @Override
+    public void flush() {
+    }
+
+    @Override
+    public void close() {
+    }
+}
@@ -0,0 +1,9 @@
+package utilities.logging;
+
+// What an asynchronous sink does when its ring buffer is full
+public enum OverflowPolicy {
+    // Wait until the writer has made room, so no event is lost
+    BLOCK,
+    // Discard the event and count it (see AsyncEventSink.getDroppedCount)
+    DROP
+}